@@ -0,0 +1,192 @@
+package com.mycompany.projectplanner;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Status bar that runs slow work (file, JDBC, analyses) on a SwingWorker and
+ * shows a progress bar and a Cancel button while it runs. Results are handed
+ * back on the event dispatch thread only once the work has finished; a
+ * cancelled task never delivers its result. The bar stays busy, and the
+ * components given to {@link #disableWhileBusy} stay disabled, until the work
+ * has actually returned, even when it was cancelled while stuck in a call that
+ * ignores interrupts.
+ */
+public class BackgroundTaskBar extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Work run off the EDT. */
+    public interface Work<T> {
+        T run(Progress progress) throws Exception;
+    }
+
+    /** Lets running work report progress and notice cancellation. */
+    public interface Progress {
+        // 0-100; the bar stays indeterminate until the first call
+        void update(int percent);
+
+        boolean isCancelled();
+    }
+
+    private static final int NOT_STARTED = 0;
+    private static final int RUNNING = 1;
+    private static final int RETURNED = 2;
+
+    private final JLabel statusLabel = new JLabel("Ready");
+    private final JProgressBar progressBar = new JProgressBar(0, 100);
+    private final JButton cancelButton = new JButton("Cancel");
+    private final List<Component> busyComponents = new ArrayList<>();
+    private SwingWorker<?, ?> current;
+
+    public BackgroundTaskBar() {
+        super(new FlowLayout(FlowLayout.LEFT));
+        setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        statusLabel.setForeground(new Color(0, 100, 0));
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        cancelButton.setVisible(false);
+        cancelButton.addActionListener(e -> cancel());
+        add(new JLabel("Status: "));
+        add(statusLabel);
+        add(progressBar);
+        add(cancelButton);
+    }
+
+    /** Components disabled while a task is running. */
+    public void disableWhileBusy(Component... components) {
+        for (Component c : components) busyComponents.add(c);
+    }
+
+    public boolean isBusy() {
+        return current != null;
+    }
+
+    /** Safe to call from any thread. */
+    public void setStatus(String message) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            statusLabel.setText(message);
+        } else {
+            SwingUtilities.invokeLater(() -> statusLabel.setText(message));
+        }
+    }
+
+    /**
+     * Starts work in the background. onSuccess and onError run on the EDT.
+     * Returns false without starting anything if another task is still running.
+     */
+    public <T> boolean run(String description, Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        return run(description, work, onSuccess, onError, () -> { });
+    }
+
+    /** As above; onCancel runs on the EDT once cancelled work has returned or was never started. */
+    public <T> boolean run(String description, Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onError,
+                           Runnable onCancel) {
+        if (current != null) {
+            setStatus("Busy: " + statusLabel.getText());
+            return false;
+        }
+        // NOT_STARTED -> RUNNING -> RETURNED, or NOT_STARTED -> RETURNED when cancelled before starting
+        AtomicInteger phase = new AtomicInteger(NOT_STARTED);
+        SwingWorker<T, Void> worker = new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                if (!phase.compareAndSet(NOT_STARTED, RUNNING)) return null;
+                try {
+                    return runWork();
+                } finally {
+                    phase.set(RETURNED);
+                    SwingWorker<T, Void> self = this;
+                    SwingUtilities.invokeLater(() -> {
+                        if (self.isCancelled() && current == self) {
+                            statusLabel.setText(description + " cancelled");
+                            finish(self);
+                            onCancel.run();
+                        } else {
+                            finish(self);
+                        }
+                    });
+                }
+            }
+
+            private T runWork() throws Exception {
+                SwingWorker<T, Void> self = this;
+                return work.run(new Progress() {
+                    @Override
+                    public void update(int percent) {
+                        setProgress(Math.max(0, Math.min(100, percent)));
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return self.isCancelled();
+                    }
+                });
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    if (phase.compareAndSet(NOT_STARTED, RETURNED)) {
+                        finish(this);
+                        statusLabel.setText(description + " cancelled");
+                        onCancel.run();
+                    } else {
+                        // the work is still unwinding; finish() runs once it returns
+                        cancelButton.setVisible(false);
+                        statusLabel.setText("Cancelling " + description + "...");
+                    }
+                    return;
+                }
+                T result;
+                try {
+                    result = get();
+                } catch (InterruptedException | CancellationException e) {
+                    statusLabel.setText(description + " cancelled");
+                    return;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    onError.accept(cause instanceof Exception ? (Exception) cause : e);
+                    return;
+                }
+                onSuccess.accept(result);
+            }
+        };
+        worker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                progressBar.setIndeterminate(false);
+                progressBar.setValue((Integer) e.getNewValue());
+            }
+        });
+
+        current = worker;
+        statusLabel.setText(description + "...");
+        progressBar.setIndeterminate(true);
+        progressBar.setValue(0);
+        progressBar.setVisible(true);
+        cancelButton.setVisible(true);
+        for (Component c : busyComponents) c.setEnabled(false);
+        revalidate();
+        worker.execute();
+        return true;
+    }
+
+    public void cancel() {
+        if (current != null) current.cancel(true);
+    }
+
+    private void finish(SwingWorker<?, ?> worker) {
+        if (current != worker) return;
+        current = null;
+        progressBar.setVisible(false);
+        cancelButton.setVisible(false);
+        for (Component c : busyComponents) c.setEnabled(true);
+        revalidate();
+    }
+}
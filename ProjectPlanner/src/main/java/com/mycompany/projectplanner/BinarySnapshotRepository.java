@@ -0,0 +1,393 @@
+package com.mycompany.projectplanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores a whole project in one versioned binary file laid out as columns:
+ *
+ * <pre>
+ * header   magic, version, project name, task/edge/resource/allocation counts
+ * tasks    ids int[n], start long[n], end long[n] (epoch minutes, UTC),
+ *          title offsets int[n+1] + UTF-8 title bytes
+ * edges    CSR: offsets int[n+1], dependency task indices int[edges]
+ * names    resource name offsets int[r+1] + UTF-8 name bytes
+ * allocs   resource index int[a], task index int[a], percentage int[a]
+ * </pre>
+ *
+ * Saving streams the columns through a FileChannel; loading memory-maps the file
+ * and reads the columns in bulk, so no dates are parsed on reopen.
+ */
+public class BinarySnapshotRepository implements IDataRepository {
+
+    static final int MAGIC = 0x50505331; // "PPS1"
+    static final int VERSION = 1;
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private String snapshotFilePath;
+
+    public BinarySnapshotRepository() {
+        this.snapshotFilePath = "./Project.snapshot";
+    }
+
+    public BinarySnapshotRepository(String snapshotFilePath) {
+        this.snapshotFilePath = snapshotFilePath;
+    }
+
+    @Override
+    public void saveProject(Project project) throws Exception {
+        Path target = new File(snapshotFilePath).toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeSnapshot(project, new ColumnWriter(channel));
+            channel.force(false);
+        }
+        // readers never see a half written snapshot
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public Project loadProject(int projectId) throws Exception {
+        return loadProject();
+    }
+
+    @Override
+    public Project loadProject() throws Exception {
+        File file = new File(snapshotFilePath);
+        if (!file.exists()) {
+            throw new IOException("Snapshot file not found: " + snapshotFilePath);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot file is too large to map: " + channel.size() + " bytes");
+            }
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return readSnapshot(buf);
+        }
+    }
+
+    @Override
+    public List<ProjectInfo> getAllProjects() throws Exception {
+        List<ProjectInfo> projects = new ArrayList<>();
+        File file = new File(snapshotFilePath);
+        if (file.exists()) {
+            String created = new Date(file.lastModified()).toString();
+            projects.add(new ProjectInfo(1, readProjectName(file), created));
+        }
+        return projects;
+    }
+
+    @Override
+    public void updateTask(Task task, int projectId) throws Exception {
+        Project project = loadProject();
+        // copy the values: the caller's task stays in the caller's project
+        Task copy = new Task(task.id, task.title, task.startTime, task.endTime);
+        project.updateTask(copy);
+        Set<Integer> dependencyIds = new LinkedHashSet<>();
+        for (Task dep : task.dependencies) dependencyIds.add(dep.id);
+        project.setDependencies(copy, dependencyIds);
+        saveProject(project);
+    }
+
+    @Override
+    public void deleteTask(int taskId, int projectId) throws Exception {
+        Project project = loadProject();
+        project.removeTask(taskId);
+        saveProject(project);
+    }
+
+    @Override
+    public void updateResource(Resource resource, int projectId) throws Exception {
+        Project project = loadProject();
+        Resource target = null;
+        for (Resource r : project.getResources()) {
+            if (r.getName().equals(resource.getName())) {
+                target = r;
+                break;
+            }
+        }
+        if (target == null) {
+            target = new Resource(resource.getName());
+            project.addResource(target);
+        } else {
+            for (Task t : target.getAllocations().keySet().toArray(new Task[0])) target.removeAllocation(t);
+        }
+        // re-key the caller's allocations onto the loaded tasks
+        for (Map.Entry<Task, Integer> e : resource.getAllocations().entrySet()) {
+            Task task = project.getTaskById(e.getKey().id);
+            if (task != null) target.addAllocations(task, e.getValue());
+        }
+        saveProject(project);
+    }
+
+    @Override
+    public void deleteResource(String resourceName, int projectId) throws Exception {
+        Project project = loadProject();
+        project.removeResource(resourceName);
+        saveProject(project);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return new File(snapshotFilePath).exists();
+    }
+
+    @Override
+    public String getRepositoryType() {
+        return "Binary Snapshot";
+    }
+
+    public void setFilePath(String snapshotFilePath) {
+        this.snapshotFilePath = snapshotFilePath;
+    }
+
+    // Helper methods
+
+    private static void writeSnapshot(Project project, ColumnWriter out) throws IOException {
+        List<Task> tasks = project.getTasks();
+        List<Resource> resources = project.getResources();
+        int n = tasks.size();
+
+        Map<Task, Integer> index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) index.put(tasks.get(i), i);
+
+        // edges and allocations pointing outside the project are dropped
+        int edgeCount = 0;
+        for (Task t : tasks) {
+            for (Task dep : t.dependencies) if (index.containsKey(dep)) edgeCount++;
+        }
+        int allocationCount = 0;
+        for (Resource r : resources) {
+            for (Task t : r.getAllocations().keySet()) if (index.containsKey(t)) allocationCount++;
+        }
+
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putBytes(project.getName().getBytes(StandardCharsets.UTF_8), true);
+        out.putInt(n);
+        out.putInt(edgeCount);
+        out.putInt(resources.size());
+        out.putInt(allocationCount);
+
+        for (Task t : tasks) out.putInt(t.id);
+        for (Task t : tasks) out.putLong(epochMinutes(t.startTime));
+        for (Task t : tasks) out.putLong(epochMinutes(t.endTime));
+
+        List<byte[]> titles = new ArrayList<>(n);
+        for (Task t : tasks) titles.add(t.title.getBytes(StandardCharsets.UTF_8));
+        out.putStrings(titles);
+
+        int offset = 0;
+        out.putInt(0);
+        for (Task t : tasks) {
+            for (Task dep : t.dependencies) if (index.containsKey(dep)) offset++;
+            out.putInt(offset);
+        }
+        for (Task t : tasks) {
+            for (Task dep : t.dependencies) {
+                Integer target = index.get(dep);
+                if (target != null) out.putInt(target);
+            }
+        }
+
+        List<byte[]> names = new ArrayList<>(resources.size());
+        for (Resource r : resources) names.add(r.getName().getBytes(StandardCharsets.UTF_8));
+        out.putStrings(names);
+
+        // allocation triples, one column at a time
+        for (int r = 0; r < resources.size(); r++) {
+            for (Task t : resources.get(r).getAllocations().keySet()) if (index.containsKey(t)) out.putInt(r);
+        }
+        for (Resource r : resources) {
+            for (Task t : r.getAllocations().keySet()) {
+                Integer target = index.get(t);
+                if (target != null) out.putInt(target);
+            }
+        }
+        for (Resource r : resources) {
+            for (Map.Entry<Task, Integer> e : r.getAllocations().entrySet()) {
+                if (index.containsKey(e.getKey())) out.putInt(e.getValue());
+            }
+        }
+        out.flush();
+    }
+
+    private static Project readSnapshot(ByteBuffer buf) throws IOException {
+        readHeader(buf);
+        Project project = new Project();
+        project.setName(readString(buf));
+        int n = buf.getInt();
+        int edgeCount = buf.getInt();
+        int resourceCount = buf.getInt();
+        int allocationCount = buf.getInt();
+
+        int[] ids = readInts(buf, n);
+        long[] starts = readLongs(buf, n);
+        long[] ends = readLongs(buf, n);
+        String[] titles = readStrings(buf, n);
+
+        Task[] tasks = new Task[n];
+        for (int i = 0; i < n; i++) {
+            tasks[i] = new Task(ids[i], titles[i], fromEpochMinutes(starts[i]), fromEpochMinutes(ends[i]));
+            project.addTask(tasks[i]);
+        }
+
+        int[] depOffsets = readInts(buf, n + 1);
+        int[] depTargets = readInts(buf, edgeCount);
+        for (int i = 0; i < n; i++) {
+            for (int e = depOffsets[i]; e < depOffsets[i + 1]; e++) {
+                project.addDependency(tasks[i], tasks[depTargets[e]]);
+            }
+        }
+        DependencyValidator.warnAboutCycles(project);
+
+        String[] names = readStrings(buf, resourceCount);
+        Resource[] resources = new Resource[resourceCount];
+        for (int r = 0; r < resourceCount; r++) {
+            resources[r] = new Resource(names[r]);
+        }
+        int[] allocResources = readInts(buf, allocationCount);
+        int[] allocTasks = readInts(buf, allocationCount);
+        int[] allocPercentages = readInts(buf, allocationCount);
+        for (int a = 0; a < allocationCount; a++) {
+            resources[allocResources[a]].addAllocations(tasks[allocTasks[a]], allocPercentages[a]);
+        }
+        for (Resource r : resources) {
+            project.addResource(r);
+        }
+        return project;
+    }
+
+    private static void readHeader(ByteBuffer buf) throws IOException {
+        if (buf.remaining() < 8 || buf.getInt() != MAGIC) {
+            throw new IOException("Not a project snapshot file");
+        }
+        int version = buf.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+    }
+
+    private static String readProjectName(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), 64 * 1024));
+            readHeader(buf);
+            return readString(buf);
+        }
+    }
+
+    static long epochMinutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    static LocalDateTime fromEpochMinutes(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static int[] readInts(ByteBuffer buf, int count) {
+        int[] values = new int[count];
+        buf.asIntBuffer().get(values);
+        buf.position(buf.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static long[] readLongs(ByteBuffer buf, int count) {
+        long[] values = new long[count];
+        buf.asLongBuffer().get(values);
+        buf.position(buf.position() + count * Long.BYTES);
+        return values;
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = buf.getInt();
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // offsets column followed by one blob holding every string
+    private static String[] readStrings(ByteBuffer buf, int count) {
+        int[] offsets = readInts(buf, count + 1);
+        byte[] blob = new byte[offsets[count]];
+        buf.get(blob);
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            strings[i] = new String(blob, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    // buffers column values in a direct buffer and writes it to the channel when full
+    private static class ColumnWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+        ColumnWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buf.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buf.putLong(value);
+        }
+
+        void putBytes(byte[] bytes, boolean withLength) throws IOException {
+            if (withLength) putInt(bytes.length);
+            int written = 0;
+            while (written < bytes.length) {
+                if (!buf.hasRemaining()) drain();
+                int chunk = Math.min(buf.remaining(), bytes.length - written);
+                buf.put(bytes, written, chunk);
+                written += chunk;
+            }
+        }
+
+        void putStrings(List<byte[]> strings) throws IOException {
+            int offset = 0;
+            putInt(0);
+            for (byte[] s : strings) {
+                offset += s.length;
+                putInt(offset);
+            }
+            for (byte[] s : strings) putBytes(s, false);
+        }
+
+        void flush() throws IOException {
+            drain();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buf.remaining() < bytes) drain();
+        }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) channel.write(buf);
+            buf.clear();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.mycompany.projectplanner;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConnectionPool implements AutoCloseable {
+
+    // pool shared by every DatabaseRepository created with the default constructor
+    private static ConnectionPool shared;
+
+    private final HikariDataSource dataSource;
+
+    // counters used for the wait time metrics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password) {
+        this(url, user, password, DatabaseConfig.MAX_CONNECTIONS, DatabaseConfig.CONNECTION_TIMEOUT);
+    }
+
+    public ConnectionPool(String url, String user, String password, int maxConnections, long connectionTimeoutMillis) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maxConnections);
+        config.setMinimumIdle(Math.min(DatabaseConfig.MIN_IDLE_CONNECTIONS, maxConnections));
+        config.setConnectionTimeout(connectionTimeoutMillis);
+        config.setPoolName("ProjectPlannerPool");
+        // fail on the first connection attempt instead of blocking callers when the server is down
+        config.setInitializationFailTimeout(1);
+        this.dataSource = new HikariDataSource(config);
+    }
+
+    /**
+     * Returns the shared pool, creating it on first use. If the database is not
+     * reachable the creation fails and is retried on the next call.
+     */
+    public static synchronized ConnectionPool getShared() throws SQLException {
+        if (shared == null || shared.isClosed()) {
+            try {
+                shared = new ConnectionPool(DatabaseConfig.DB_URL, DatabaseConfig.DB_USER, DatabaseConfig.DB_PASSWORD);
+            } catch (RuntimeException e) {
+                throw new SQLException("Could not initialize connection pool: " + e.getMessage(), e);
+            }
+        }
+        return shared;
+    }
+
+    public Connection getConnection() throws SQLException {
+        long begin = System.nanoTime();
+        Connection conn = dataSource.getConnection();
+        long waited = System.nanoTime() - begin;
+
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        return conn;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public PoolMetrics getMetrics() {
+        HikariPoolMXBean bean = dataSource.getHikariPoolMXBean();
+        int active = bean != null ? bean.getActiveConnections() : 0;
+        int idle = bean != null ? bean.getIdleConnections() : 0;
+        int waiting = bean != null ? bean.getThreadsAwaitingConnection() : 0;
+
+        long borrows = borrowCount.get();
+        double avgWaitMillis = borrows == 0 ? 0.0 : totalWaitNanos.get() / (double) borrows / 1_000_000.0;
+        double maxWaitMillis = maxWaitNanos.get() / 1_000_000.0;
+        return new PoolMetrics(active, idle, waiting, borrows, avgWaitMillis, maxWaitMillis);
+    }
+
+    public boolean isClosed() {
+        return dataSource.isClosed();
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,165 @@
+package com.mycompany.projectplanner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Critical path method over the project's dependency graph. Every task keeps
+ * its planned duration and may not start before its planned start or before
+ * all of its dependencies have finished. A forward pass gives the earliest
+ * start/finish, a backward pass from the project finish gives the latest
+ * start/finish, and tasks without total float form the critical path.
+ * All times are minutes since the epoch; both passes are linear in tasks + edges.
+ */
+public class CriticalPathAnalysis {
+
+    private final TaskGraph graph;
+    private final int[] order;
+    private final long[] earliestStart;
+    private final long[] earliestFinish;
+    private final long[] latestStart;
+    private final long[] latestFinish;
+    private final long[] freeFloat;
+    private final long projectFinish;
+
+    CriticalPathAnalysis(TaskGraph graph, int[] order) {
+        int n = graph.size();
+        this.graph = graph;
+        this.order = order;
+        this.earliestStart = new long[n];
+        this.earliestFinish = new long[n];
+        this.latestStart = new long[n];
+        this.latestFinish = new long[n];
+        this.freeFloat = new long[n];
+
+        // forward pass
+        long finish = Long.MIN_VALUE;
+        for (int i : order) {
+            long es = graph.startMinute(i);
+            for (int k = graph.predecessorStart(i); k < graph.predecessorEnd(i); k++) {
+                es = Math.max(es, earliestFinish[graph.predecessorAt(k)]);
+            }
+            earliestStart[i] = es;
+            earliestFinish[i] = es + duration(i);
+            finish = Math.max(finish, earliestFinish[i]);
+        }
+        this.projectFinish = finish;
+
+        // backward pass
+        for (int o = n - 1; o >= 0; o--) {
+            int i = order[o];
+            long lf = finish;
+            long nextStart = finish;
+            for (int k = graph.successorStart(i); k < graph.successorEnd(i); k++) {
+                int s = graph.successorAt(k);
+                lf = Math.min(lf, latestStart[s]);
+                nextStart = Math.min(nextStart, earliestStart[s]);
+            }
+            latestFinish[i] = lf;
+            latestStart[i] = lf - duration(i);
+            freeFloat[i] = nextStart - earliestFinish[i];
+        }
+    }
+
+    /**
+     * Runs the analysis on the project's current graph.
+     *
+     * @throws DependencyCycleException if the dependencies contain a cycle
+     */
+    public static CriticalPathAnalysis analyze(Project project) {
+        // the cached order belongs to the same graph instance
+        int[] order = project.topologicalOrder();
+        return new CriticalPathAnalysis(project.graph(), order);
+    }
+
+    private long duration(int i) {
+        return graph.endMinute(i) - graph.startMinute(i);
+    }
+
+    public TaskGraph getGraph() {
+        return graph;
+    }
+
+    public long earliestStart(int index) {
+        return earliestStart[index];
+    }
+
+    public long earliestFinish(int index) {
+        return earliestFinish[index];
+    }
+
+    public long latestStart(int index) {
+        return latestStart[index];
+    }
+
+    public long latestFinish(int index) {
+        return latestFinish[index];
+    }
+
+    /** Minutes the task can slip without moving the project finish */
+    public long totalFloat(int index) {
+        return latestStart[index] - earliestStart[index];
+    }
+
+    /** Minutes the task can slip without delaying any of its successors */
+    public long freeFloat(int index) {
+        return freeFloat[index];
+    }
+
+    public boolean isCritical(int index) {
+        return latestStart[index] == earliestStart[index];
+    }
+
+    public boolean isCritical(Task task) {
+        int index = graph.indexOf(task.id);
+        return index >= 0 && graph.task(index) == task && isCritical(index);
+    }
+
+    /** Earliest possible project finish, or null for an empty project */
+    public LocalDateTime projectFinish() {
+        return graph.size() == 0 ? null : BinarySnapshotRepository.fromEpochMinutes(projectFinish);
+    }
+
+    public LocalDateTime earliestStartTime(int index) {
+        return BinarySnapshotRepository.fromEpochMinutes(earliestStart[index]);
+    }
+
+    public LocalDateTime latestStartTime(int index) {
+        return BinarySnapshotRepository.fromEpochMinutes(latestStart[index]);
+    }
+
+    /** All tasks with zero total float, in dependency order */
+    public List<Task> criticalTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i : order) {
+            if (isCritical(i)) tasks.add(graph.task(i));
+        }
+        return tasks;
+    }
+
+    /**
+     * One chain of critical tasks from a task that finishes at the project
+     * finish back to its driving start, returned first task first.
+     */
+    public List<Task> criticalPath() {
+        List<Task> path = new ArrayList<>();
+        int current = -1;
+        for (int o = order.length - 1; o >= 0 && current < 0; o--) {
+            int i = order[o];
+            if (earliestFinish[i] == projectFinish && isCritical(i)) current = i;
+        }
+        while (current >= 0) {
+            path.add(graph.task(current));
+            int driver = -1;
+            for (int k = graph.predecessorStart(current); k < graph.predecessorEnd(current) && driver < 0; k++) {
+                int p = graph.predecessorAt(k);
+                if (isCritical(p) && earliestFinish[p] == earliestStart[current]) driver = p;
+            }
+            current = driver;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -3,15 +3,45 @@ package com.mycompany.projectplanner;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class DatabaseRepository implements IDataRepository {
-    
+
+    // null means the shared pool, which is created lazily on first use
+    private final ConnectionPool pool;
+
+    // rows sent per executeBatch call on bulk inserts
+    private int batchSize = DatabaseConfig.BATCH_SIZE;
+
+    public DatabaseRepository() {
+        this.pool = null;
+    }
+
+    public DatabaseRepository(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    private ConnectionPool pool() throws SQLException {
+        return pool != null ? pool : ConnectionPool.getShared();
+    }
+
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-            DatabaseConfig.DB_URL,
-            DatabaseConfig.DB_USER,
-            DatabaseConfig.DB_PASSWORD
-        );
+        return pool().getConnection();
+    }
+
+    public PoolMetrics getPoolMetrics() throws SQLException {
+        return pool().getMetrics();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
     }
     
     @Override
@@ -21,16 +51,22 @@ public class DatabaseRepository implements IDataRepository {
             
             try {
                 int projectId = getOrCreateProject(conn, project.getName());
-                project.setProjectId(projectId);
-                clearProjectData(conn, projectId);
-                
-                
-                saveTasks(conn, project, projectId);
-                saveTaskDependencies(conn, project, projectId);
-                
-                
-                saveResources(conn, project, projectId);
+                if (project.isTrackingChanges() && project.getProjectId() == projectId) {
+                    // only send what changed since the last load or save
+                    saveChanges(conn, project, projectId);
+                } else {
+                    project.setProjectId(projectId);
+                    clearProjectData(conn, projectId);
+                    
+                    
+                    saveTasks(conn, project, projectId);
+                    saveTaskDependencies(conn, project, projectId);
+                    
+                    
+                    saveResources(conn, project, projectId);
+                }
                 conn.commit();
+                project.startTrackingChanges();
             } catch (Exception e) {
                 conn.rollback();
                 throw e;
@@ -38,8 +74,118 @@ public class DatabaseRepository implements IDataRepository {
         }
     }
     
+    // header, tasks, edges, resources and allocations of one project as one result,
+    // tagged by Kind; one statement, so one round trip to the server. TaskDependencies
+    // has no ProjectId, so the edges are still filtered through a join on Tasks.
+    private static final String LOAD_PROJECT_SQL =
+            "SELECT 0 AS Kind, ProjectId AS Id, CAST(NULL AS INT) AS Ref, CAST(NULL AS INT) AS Pct, " +
+            "CAST(ProjectName AS NVARCHAR(500)) AS Name, CAST(NULL AS DATETIME2) AS StartTime, CAST(NULL AS DATETIME2) AS EndTime " +
+            "FROM Projects WHERE ProjectId = ? " +
+            "UNION ALL SELECT 1, TaskId, NULL, NULL, Title, StartTime, EndTime FROM Tasks WHERE ProjectId = ? " +
+            "UNION ALL SELECT 2, td.TaskId, td.DependsOnTaskId, NULL, NULL, NULL, NULL " +
+            "FROM Tasks t INNER JOIN TaskDependencies td ON td.TaskId = t.TaskId WHERE t.ProjectId = ? " +
+            "UNION ALL SELECT 3, ResourceId, NULL, NULL, ResourceName, NULL, NULL FROM Resources WHERE ProjectId = ? " +
+            "UNION ALL SELECT 4, ra.ResourceId, ra.TaskId, ra.AllocationPercentage, NULL, NULL, NULL " +
+            "FROM Resources r INNER JOIN ResourceAllocations ra ON ra.ResourceId = r.ResourceId WHERE r.ProjectId = ?";
+
+    /**
+     * Loads the whole project with a single query, so a remote server costs one
+     * round trip instead of one per table. The rows of each kind are buffered and
+     * the project is built afterwards, in the same order as the per-table load
+     * (tasks and resources by id), without relying on the order of the union.
+     */
     @Override
     public Project loadProject(int projectId) throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        IntList depTasks = new IntList();
+        IntList depTargets = new IntList();
+        IntList resourceIds = new IntList();
+        List<String> resourceNames = new ArrayList<>();
+        IntList allocResources = new IntList();
+        IntList allocTasks = new IntList();
+        IntList allocPercentages = new IntList();
+        String projectName = null;
+
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(LOAD_PROJECT_SQL)) {
+            for (int p = 1; p <= 5; p++) pstmt.setInt(p, projectId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    switch (rs.getInt(1)) {
+                        case 0:
+                            projectName = rs.getString(5);
+                            break;
+                        case 1:
+                            tasks.add(new Task(rs.getInt(2), rs.getString(5),
+                                    rs.getObject(6, LocalDateTime.class), rs.getObject(7, LocalDateTime.class)));
+                            break;
+                        case 2:
+                            depTasks.add(rs.getInt(2));
+                            depTargets.add(rs.getInt(3));
+                            break;
+                        case 3:
+                            resourceIds.add(rs.getInt(2));
+                            resourceNames.add(rs.getString(5));
+                            break;
+                        case 4:
+                            allocResources.add(rs.getInt(2));
+                            allocTasks.add(rs.getInt(3));
+                            allocPercentages.add(rs.getInt(4));
+                            break;
+                        default:
+                            throw new SQLException("Unexpected row kind " + rs.getInt(1));
+                    }
+                }
+            }
+        }
+        if (projectName == null) {
+            throw new Exception("Project not found with ID: " + projectId);
+        }
+
+        Project project = new Project();
+        project.setName(projectName);
+        project.setProjectId(projectId);
+
+        tasks.sort(Comparator.comparingInt(t -> t.id));
+        for (Task t : tasks) project.addTask(t);
+        int[] edgeTasks = depTasks.toArray();
+        int[] edgeTargets = depTargets.toArray();
+        for (int k = 0; k < edgeTasks.length; k++) {
+            Task task = project.getTaskById(edgeTasks[k]);
+            Task dep = project.getTaskById(edgeTargets[k]);
+            if (task != null && dep != null) {
+                project.addDependency(task, dep);
+            }
+        }
+        DependencyValidator.warnAboutCycles(project);
+
+        int[] ids = resourceIds.toArray();
+        Integer[] order = new Integer[ids.length];
+        for (int r = 0; r < order.length; r++) order[r] = r;
+        Arrays.sort(order, Comparator.comparingInt(r -> ids[r]));
+        Map<Integer, Resource> resourceMap = new HashMap<>();
+        for (int r : order) {
+            Resource resource = new Resource(resourceNames.get(r));
+            resourceMap.put(ids[r], resource);
+            project.addResource(resource);
+        }
+        int[] allocR = allocResources.toArray();
+        int[] allocT = allocTasks.toArray();
+        int[] allocP = allocPercentages.toArray();
+        for (int k = 0; k < allocR.length; k++) {
+            Resource resource = resourceMap.get(allocR[k]);
+            Task task = project.getTaskById(allocT[k]);
+            if (resource != null && task != null) {
+                resource.addAllocations(task, allocP[k]);
+            }
+        }
+
+        project.startTrackingChanges();
+        return project;
+    }
+
+    /** The previous load: four statements, one round trip each. Kept as the benchmark baseline. */
+    Project loadProjectPerTable(int projectId) throws Exception {
         try (Connection conn = getConnection()) {
             Project project = new Project();
             
@@ -56,11 +202,11 @@ public class DatabaseRepository implements IDataRepository {
                 }
             }
             
-            // at startup 
             loadTasks(conn, project, projectId);
             loadTaskDependencies(conn, project, projectId);
             loadResources(conn, project, projectId);
             
+            project.startTrackingChanges();
             return project;
         }
     }
@@ -74,6 +220,137 @@ public class DatabaseRepository implements IDataRepository {
         return loadProject(projects.get(0).projectId);
     }
     
+    /**
+     * Streams a project in chunks of at most chunkSize tasks, paging through Tasks
+     * by TaskId (keyset pagination) with the fetch size set to the chunk size. Each
+     * chunk also carries the dependency edges and allocations of its tasks, so no
+     * more than one chunk of rows is held here at a time. Stops with an
+     * InterruptedException when the calling thread is interrupted.
+     */
+    public void streamProject(int projectId, int chunkSize, ProjectChunk.Consumer consumer) throws Exception {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        try (Connection conn = getConnection()) {
+            String projectName;
+            String projectSql = "SELECT ProjectName FROM Projects WHERE ProjectId = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(projectSql)) {
+                pstmt.setInt(1, projectId);
+                ResultSet rs = pstmt.executeQuery();
+                if (!rs.next()) {
+                    throw new Exception("Project not found with ID: " + projectId);
+                }
+                projectName = rs.getString("ProjectName");
+            }
+
+            int totalTasks;
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM Tasks WHERE ProjectId = ?")) {
+                pstmt.setInt(1, projectId);
+                ResultSet rs = pstmt.executeQuery();
+                rs.next();
+                totalTasks = rs.getInt(1);
+            }
+
+            // resource ids in ResourceId order; one row per resource, sent with every chunk
+            List<String> resourceNames = new ArrayList<>();
+            Map<Integer, Integer> resourceIndex = new HashMap<>();
+            String resourceSql = "SELECT ResourceId, ResourceName FROM Resources WHERE ProjectId = ? ORDER BY ResourceId";
+            try (PreparedStatement pstmt = conn.prepareStatement(resourceSql)) {
+                pstmt.setInt(1, projectId);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    resourceIndex.put(rs.getInt("ResourceId"), resourceNames.size());
+                    resourceNames.add(rs.getString("ResourceName"));
+                }
+            }
+            resourceNames = Collections.unmodifiableList(resourceNames);
+
+            // ordered like an index on (ProjectId, TaskId), so a page stops after chunkSize rows
+            String taskSql = "SELECT TaskId, Title, StartTime, EndTime FROM Tasks WHERE ProjectId = ? AND TaskId > ? " +
+                             "ORDER BY ProjectId, TaskId OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
+            // TaskIds are unique across projects, so rows of other projects in the id range are skipped here
+            String dependencySql = "SELECT TaskId, DependsOnTaskId FROM TaskDependencies WHERE TaskId BETWEEN ? AND ?";
+            String allocationSql = "SELECT TaskId, ResourceId, AllocationPercentage FROM ResourceAllocations WHERE TaskId BETWEEN ? AND ?";
+            try (PreparedStatement taskStmt = conn.prepareStatement(taskSql);
+                 PreparedStatement depStmt = conn.prepareStatement(dependencySql);
+                 PreparedStatement allocStmt = conn.prepareStatement(allocationSql)) {
+                taskStmt.setFetchSize(chunkSize);
+                depStmt.setFetchSize(chunkSize);
+                allocStmt.setFetchSize(chunkSize);
+
+                int lastId = Integer.MIN_VALUE;
+                int index = 0;
+                int sent = 0;
+                while (true) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException("Project load cancelled");
+                    }
+                    List<Task> tasks = new ArrayList<>(Math.min(chunkSize, Math.max(1, totalTasks - sent)));
+                    Set<Integer> ids = new HashSet<>();
+                    taskStmt.setInt(1, projectId);
+                    taskStmt.setInt(2, lastId);
+                    taskStmt.setInt(3, chunkSize);
+                    try (ResultSet rs = taskStmt.executeQuery()) {
+                        while (rs.next()) {
+                            Task task = new Task(rs.getInt("TaskId"), rs.getString("Title"),
+                                rs.getObject("StartTime", LocalDateTime.class), rs.getObject("EndTime", LocalDateTime.class));
+                            tasks.add(task);
+                            ids.add(task.id);
+                        }
+                    }
+                    boolean last = tasks.size() < chunkSize;
+
+                    IntList depTasks = new IntList();
+                    IntList depTargets = new IntList();
+                    IntList allocTasks = new IntList();
+                    IntList allocResources = new IntList();
+                    IntList allocPercentages = new IntList();
+                    if (!tasks.isEmpty()) {
+                        int first = tasks.get(0).id;
+                        lastId = tasks.get(tasks.size() - 1).id;
+                        depStmt.setInt(1, first);
+                        depStmt.setInt(2, lastId);
+                        try (ResultSet rs = depStmt.executeQuery()) {
+                            while (rs.next()) {
+                                int taskId = rs.getInt("TaskId");
+                                if (ids.contains(taskId)) {
+                                    depTasks.add(taskId);
+                                    depTargets.add(rs.getInt("DependsOnTaskId"));
+                                }
+                            }
+                        }
+                        allocStmt.setInt(1, first);
+                        allocStmt.setInt(2, lastId);
+                        try (ResultSet rs = allocStmt.executeQuery()) {
+                            while (rs.next()) {
+                                Integer resource = resourceIndex.get(rs.getInt("ResourceId"));
+                                int taskId = rs.getInt("TaskId");
+                                if (resource != null && ids.contains(taskId)) {
+                                    allocTasks.add(taskId);
+                                    allocResources.add(resource);
+                                    allocPercentages.add(rs.getInt("AllocationPercentage"));
+                                }
+                            }
+                        }
+                    }
+
+                    sent += tasks.size();
+                    consumer.accept(new ProjectChunk(projectId, projectName, resourceNames, totalTasks, index++, last,
+                        tasks, depTasks.toArray(), depTargets.toArray(),
+                        allocTasks.toArray(), allocResources.toArray(), allocPercentages.toArray()));
+                    if (last) break;
+                }
+            }
+        }
+    }
+
+    /** Same result as loadProject(projectId), built chunk by chunk; afterChunk sees the project grow */
+    public Project loadProject(int projectId, int chunkSize, Consumer<Project> afterChunk) throws Exception {
+        ProjectChunk.Assembler assembler = new ProjectChunk.Assembler();
+        streamProject(projectId, chunkSize, chunk -> afterChunk.accept(assembler.apply(chunk)));
+        return assembler.finish();
+    }
+    
     @Override
     public List<ProjectInfo> getAllProjects() throws Exception {
         List<ProjectInfo> projects = new ArrayList<>();
@@ -228,16 +505,158 @@ public class DatabaseRepository implements IDataRepository {
         }
     }
     
+    private void saveChanges(Connection conn, Project project, int projectId) throws SQLException {
+        // deletes first, so that re-added tasks and resources are inserted again afterwards
+        deleteDependencies(conn, project.getRemovedDependencies());
+        deleteTasks(conn, project.getRemovedTaskIds(), projectId);
+        deleteResources(conn, project.getRemovedResourceNames(), projectId);
+
+        List<Task> changed = new ArrayList<>();
+        for (int id : project.getChangedTaskIds()) {
+            Task task = project.getTaskById(id);
+            if (task != null) changed.add(task);
+        }
+        upsertTasks(conn, changed, projectId);
+        insertDependencies(conn, project.getAddedDependencies());
+
+        List<Resource> changedResources = new ArrayList<>();
+        for (Resource r : project.getResources()) {
+            if (project.getChangedResourceNames().contains(r.getName())) changedResources.add(r);
+        }
+        replaceAllocations(conn, changedResources, projectId);
+    }
+
+    private void deleteDependencies(Connection conn, Collection<Long> edges) throws SQLException {
+        if (edges.isEmpty()) return;
+        String sql = "DELETE FROM TaskDependencies WHERE TaskId = ? AND DependsOnTaskId = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (long edge : edges) {
+                pstmt.setInt(1, Project.edgeTask(edge));
+                pstmt.setInt(2, Project.edgeDependency(edge));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private void insertDependencies(Connection conn, Collection<Long> edges) throws SQLException {
+        if (edges.isEmpty()) return;
+        String sql = "INSERT INTO TaskDependencies (TaskId, DependsOnTaskId) VALUES (?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (long edge : edges) {
+                pstmt.setInt(1, Project.edgeTask(edge));
+                pstmt.setInt(2, Project.edgeDependency(edge));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private void deleteTasks(Connection conn, Collection<Integer> taskIds, int projectId) throws SQLException {
+        if (taskIds.isEmpty()) return;
+        // edges and allocations go first because of the foreign keys
+        String depSql = "DELETE FROM TaskDependencies WHERE TaskId = ? OR DependsOnTaskId = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(depSql)) {
+            for (int id : taskIds) {
+                pstmt.setInt(1, id);
+                pstmt.setInt(2, id);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+
+        String allocSql = "DELETE FROM ResourceAllocations WHERE TaskId = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(allocSql)) {
+            for (int id : taskIds) {
+                pstmt.setInt(1, id);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+
+        String taskSql = "DELETE FROM Tasks WHERE TaskId = ? AND ProjectId = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(taskSql)) {
+            for (int id : taskIds) {
+                pstmt.setInt(1, id);
+                pstmt.setInt(2, projectId);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private void deleteResources(Connection conn, Collection<String> names, int projectId) throws SQLException {
+        if (names.isEmpty()) return;
+        String[] sqls = {
+            "DELETE FROM ResourceAllocations WHERE ResourceId IN " +
+                "(SELECT ResourceId FROM Resources WHERE ResourceName = ? AND ProjectId = ?)",
+            "DELETE FROM Resources WHERE ResourceName = ? AND ProjectId = ?"
+        };
+        for (String sql : sqls) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (String name : names) {
+                    pstmt.setString(1, name);
+                    pstmt.setInt(2, projectId);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+        }
+    }
+
+    private void upsertTasks(Connection conn, Collection<Task> tasks, int projectId) throws SQLException {
+        if (tasks.isEmpty()) return;
+        String sql = "MERGE INTO Tasks AS t " +
+                     "USING (VALUES (?, ?, ?, ?, ?)) AS s (TaskId, ProjectId, Title, StartTime, EndTime) " +
+                     // a TaskId owned by another project is not matched; its insert then
+                     // fails on the primary key and the save rolls back
+                     "ON t.TaskId = s.TaskId AND t.ProjectId = s.ProjectId " +
+                     "WHEN MATCHED THEN UPDATE SET Title = s.Title, StartTime = s.StartTime, EndTime = s.EndTime " +
+                     "WHEN NOT MATCHED THEN INSERT (TaskId, ProjectId, Title, StartTime, EndTime) " +
+                     "VALUES (s.TaskId, s.ProjectId, s.Title, s.StartTime, s.EndTime);";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Task task : tasks) {
+                pstmt.setInt(1, task.id);
+                pstmt.setInt(2, projectId);
+                pstmt.setString(3, task.title);
+                pstmt.setTimestamp(4, Timestamp.valueOf(task.startTime));
+                pstmt.setTimestamp(5, Timestamp.valueOf(task.endTime));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private void replaceAllocations(Connection conn, Collection<Resource> resources, int projectId) throws SQLException {
+        if (resources.isEmpty()) return;
+        Map<Resource, Integer> ids = new LinkedHashMap<>();
+        for (Resource resource : resources) {
+            ids.put(resource, getOrCreateResource(conn, resource.getName(), projectId));
+        }
+
+        String deleteSql = "DELETE FROM ResourceAllocations WHERE ResourceId = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(deleteSql)) {
+            for (int resourceId : ids.values()) {
+                pstmt.setInt(1, resourceId);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+
+        insertAllocations(conn, ids);
+    }
+
     private void saveTasks(Connection conn, Project project, int projectId) throws SQLException {
         String sql = "INSERT INTO Tasks (TaskId, ProjectId, Title, StartTime, EndTime) VALUES (?, ?, ?, ?, ?)";
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int pending = 0;
             for (Task task : project.getTasks()) {
                 pstmt.setInt(1, task.id);
                 pstmt.setInt(2, projectId);
                 pstmt.setString(3, task.title);
                 pstmt.setTimestamp(4, Timestamp.valueOf(task.startTime));
                 pstmt.setTimestamp(5, Timestamp.valueOf(task.endTime));
-                pstmt.addBatch();
+                pending = addToBatch(pstmt, pending);
             }
             pstmt.executeBatch();
         }
@@ -246,11 +665,12 @@ public class DatabaseRepository implements IDataRepository {
     private void saveTaskDependencies(Connection conn, Project project, int projectId) throws SQLException {
         String sql = "INSERT INTO TaskDependencies (TaskId, DependsOnTaskId) VALUES (?, ?)";
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int pending = 0;
             for (Task task : project.getTasks()) {
                 for (Task dep : task.dependencies) {
                     pstmt.setInt(1, task.id);
                     pstmt.setInt(2, dep.id);
-                    pstmt.addBatch();
+                    pending = addToBatch(pstmt, pending);
                 }
             }
             pstmt.executeBatch();
@@ -258,35 +678,74 @@ public class DatabaseRepository implements IDataRepository {
     }
     
     private void saveResources(Connection conn, Project project, int projectId) throws SQLException {
-        for (Resource resource : project.getResources()) {
-            // Insert resource
-            String resSql = "INSERT INTO Resources (ProjectId, ResourceName) VALUES (?, ?)";
-            int resourceId;
-            try (PreparedStatement pstmt = conn.prepareStatement(resSql, Statement.RETURN_GENERATED_KEYS)) {
+        List<Resource> resources = project.getResources();
+        if (resources.isEmpty()) return;
+
+        // one batch for every resource row instead of a round trip per resource
+        String resSql = "INSERT INTO Resources (ProjectId, ResourceName) VALUES (?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(resSql)) {
+            int pending = 0;
+            for (Resource resource : resources) {
                 pstmt.setInt(1, projectId);
                 pstmt.setString(2, resource.getName());
-                pstmt.executeUpdate();
-                
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    resourceId = rs.getInt(1);
-                } else {
-                    throw new SQLException("Failed to insert resource");
+                pending = addToBatch(pstmt, pending);
+            }
+            pstmt.executeBatch();
+        }
+
+        Map<Resource, Integer> ids = mapResourceIds(conn, resources, projectId);
+        insertAllocations(conn, ids);
+    }
+
+    // maps generated ResourceIds back by name; repeated names get their ids in insertion order
+    private Map<Resource, Integer> mapResourceIds(Connection conn, List<Resource> resources, int projectId) throws SQLException {
+        Map<String, Deque<Integer>> idsByName = new HashMap<>();
+        String sql = "SELECT ResourceId, ResourceName FROM Resources WHERE ProjectId = ? ORDER BY ResourceId";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, projectId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    idsByName.computeIfAbsent(rs.getString("ResourceName"), k -> new ArrayDeque<>())
+                             .add(rs.getInt("ResourceId"));
                 }
             }
-            
-            // Insert allocations
-            String allocSql = "INSERT INTO ResourceAllocations (ResourceId, TaskId, AllocationPercentage) VALUES (?, ?, ?)";
-            try (PreparedStatement pstmt = conn.prepareStatement(allocSql)) {
-                for (Map.Entry<Task, Integer> entry : resource.getAllocations().entrySet()) {
-                    pstmt.setInt(1, resourceId);
+        }
+
+        Map<Resource, Integer> ids = new LinkedHashMap<>();
+        for (Resource resource : resources) {
+            Deque<Integer> candidates = idsByName.get(resource.getName());
+            if (candidates == null || candidates.isEmpty()) {
+                throw new SQLException("Failed to insert resource: " + resource.getName());
+            }
+            ids.put(resource, candidates.poll());
+        }
+        return ids;
+    }
+
+    private void insertAllocations(Connection conn, Map<Resource, Integer> ids) throws SQLException {
+        String allocSql = "INSERT INTO ResourceAllocations (ResourceId, TaskId, AllocationPercentage) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(allocSql)) {
+            int pending = 0;
+            for (Map.Entry<Resource, Integer> r : ids.entrySet()) {
+                for (Map.Entry<Task, Integer> entry : r.getKey().getAllocations().entrySet()) {
+                    pstmt.setInt(1, r.getValue());
                     pstmt.setInt(2, entry.getKey().id);
                     pstmt.setInt(3, entry.getValue());
-                    pstmt.addBatch();
+                    pending = addToBatch(pstmt, pending);
                 }
-                pstmt.executeBatch();
             }
+            pstmt.executeBatch();
+        }
+    }
+
+    // adds the current row and sends the batch once it reaches batchSize rows
+    private int addToBatch(PreparedStatement pstmt, int pending) throws SQLException {
+        pstmt.addBatch();
+        if (++pending >= batchSize) {
+            pstmt.executeBatch();
+            return 0;
         }
+        return pending;
     }
     
     private void loadTasks(Connection conn, Project project, int projectId) throws SQLException {
@@ -298,13 +757,10 @@ public class DatabaseRepository implements IDataRepository {
             while (rs.next()) {
                 int id = rs.getInt("TaskId");
                 String title = rs.getString("Title");
-                LocalDateTime start = rs.getTimestamp("StartTime").toLocalDateTime();
-                LocalDateTime end = rs.getTimestamp("EndTime").toLocalDateTime();
+                LocalDateTime start = rs.getObject("StartTime", LocalDateTime.class);
+                LocalDateTime end = rs.getObject("EndTime", LocalDateTime.class);
                 
-                Task task = new Task(id, title, 
-                    start.format(Task.Formater), 
-                    end.format(Task.Formater));
-                project.addTask(task);
+                project.addTask(new Task(id, title, start, end));
             }
         }
     }
@@ -324,11 +780,11 @@ public class DatabaseRepository implements IDataRepository {
                 Task dep = project.getTaskById(depId);
                 
                 if (task != null && dep != null) {
-                    task.dependencies.add(dep);
-                    dep.children.add(task);
+                    project.addDependency(task, dep);
                 }
             }
         }
+        DependencyValidator.warnAboutCycles(project);
     }
     
     private void loadResources(Connection conn, Project project, int projectId) throws SQLException {
@@ -366,6 +822,21 @@ public class DatabaseRepository implements IDataRepository {
         }
     }
     
+    // growable int column for one chunk or one row kind
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
     private int getOrCreateResource(Connection conn, String resourceName, int projectId) throws SQLException {
         String checkSql = "SELECT ResourceId FROM Resources WHERE ResourceName = ? AND ProjectId = ?";
         try (PreparedStatement pstmt = conn.prepareStatement(checkSql)) {
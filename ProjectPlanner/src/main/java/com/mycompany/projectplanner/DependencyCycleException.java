@@ -0,0 +1,21 @@
+package com.mycompany.projectplanner;
+
+import java.util.List;
+
+/** Thrown when an analysis needs a dependency order but the dependencies form cycles */
+public class DependencyCycleException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<List<Integer>> cycles;
+
+    public DependencyCycleException(List<List<Integer>> cycles) {
+        super("Dependency graph contains " + cycles.size() + (cycles.size() == 1 ? " cycle: " : " cycles: ") + cycles);
+        this.cycles = cycles;
+    }
+
+    /** Task ids of every cycle, one list per group of mutually dependent tasks */
+    public List<List<Integer>> getCycles() {
+        return cycles;
+    }
+}
@@ -0,0 +1,126 @@
+package com.mycompany.projectplanner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Checks the dependency graph for cycles and computes a topological order.
+ * Both walks are iterative over the TaskGraph arrays, so deep dependency
+ * chains cannot overflow the stack.
+ */
+public class DependencyValidator {
+
+    /**
+     * Task indices ordered so every task comes after all of its dependencies
+     * (Kahn's algorithm).
+     *
+     * @throws DependencyCycleException if some tasks depend on each other
+     */
+    public static int[] topologicalOrder(TaskGraph graph) {
+        int n = graph.size();
+        int[] remaining = new int[n];
+        int[] order = new int[n];
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            remaining[i] = graph.predecessorCount(i);
+            if (remaining[i] == 0) order[tail++] = i;
+        }
+        for (int head = 0; head < tail; head++) {
+            int i = order[head];
+            for (int k = graph.successorStart(i); k < graph.successorEnd(i); k++) {
+                int s = graph.successorAt(k);
+                if (--remaining[s] == 0) order[tail++] = s;
+            }
+        }
+        if (tail != n) {
+            throw new DependencyCycleException(findCycles(graph));
+        }
+        return order;
+    }
+
+    /**
+     * Every cycle in the graph as the sorted ids of its tasks: one entry per
+     * strongly connected component with more than one task, plus tasks that
+     * depend on themselves. Uses Tarjan's algorithm with an explicit stack.
+     */
+    public static List<List<Integer>> findCycles(TaskGraph graph) {
+        int n = graph.size();
+        int[] index = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[n];
+        int[] componentStack = new int[n];
+        int componentTop = 0;
+        // depth first call stack: the node and the next successor position to visit
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int nextIndex = 0;
+        List<List<Integer>> cycles = new ArrayList<>();
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) continue;
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = graph.successorStart(root);
+            index[root] = low[root] = nextIndex++;
+            componentStack[componentTop++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int v = callNode[depth];
+                if (callEdge[depth] < graph.successorEnd(v)) {
+                    int w = graph.successorAt(callEdge[depth]++);
+                    if (index[w] < 0) {
+                        index[w] = low[w] = nextIndex++;
+                        componentStack[componentTop++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callNode[depth] = w;
+                        callEdge[depth] = graph.successorStart(w);
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // v is finished: pop its component if it is the root of one
+                if (low[v] == index[v]) {
+                    List<Integer> component = new ArrayList<>();
+                    int w;
+                    do {
+                        w = componentStack[--componentTop];
+                        onStack[w] = false;
+                        component.add(graph.taskId(w));
+                    } while (w != v);
+                    if (component.size() > 1 || dependsOnItself(graph, v)) {
+                        Collections.sort(component);
+                        cycles.add(component);
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+        cycles.sort((a, b) -> Integer.compare(a.get(0), b.get(0)));
+        return cycles;
+    }
+
+    private static boolean dependsOnItself(TaskGraph graph, int i) {
+        for (int k = graph.predecessorStart(i); k < graph.predecessorEnd(i); k++) {
+            if (graph.predecessorAt(k) == i) return true;
+        }
+        return false;
+    }
+
+    // printed by the loaders, which keep cyclic data so it can be fixed in the UI
+    static void warnAboutCycles(Project project) {
+        for (List<Integer> cycle : project.findDependencyCycles()) {
+            System.err.println("Warning: dependency cycle between tasks " + cycle);
+        }
+    }
+}
@@ -2,15 +2,39 @@ package com.mycompany.projectplanner;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Keeps a project in Tasks.txt and Resources.txt. Single-entity edits are appended
+ * to a journal next to Tasks.txt (see {@link ProjectJournal}) instead of rewriting
+ * both files; loading replays the journal, and it is folded back into the text
+ * files in the background once it grows large.
+ */
 public class FileDataRepository implements IDataRepository {
     
     private String tasksFilePath;
     private String resourcesFilePath;
+    private ProjectJournal journal;
+    private long journalCompactBytes = ProjectJournal.DEFAULT_COMPACT_BYTES;
+    private SaveFault saveFault = SaveFault.NONE;
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    // guards the text files against a concurrent compaction
+    private final Object fileLock = new Object();
     
     public FileDataRepository() {
         this.tasksFilePath = "./Tasks.txt";
@@ -21,14 +45,24 @@ public class FileDataRepository implements IDataRepository {
         this.tasksFilePath = tasksFilePath;
         this.resourcesFilePath = resourcesFilePath;
     }
+
+    FileDataRepository(String tasksFilePath, String resourcesFilePath, long journalCompactBytes) {
+        this(tasksFilePath, resourcesFilePath);
+        this.journalCompactBytes = journalCompactBytes;
+    }
     
     @Override
     public void saveProject(Project project) throws Exception {
         File tasksFile = new File(tasksFilePath);
         File resourcesFile = new File(resourcesFilePath);
         
-        saveTasksFile(project, tasksFile);
-        saveResourcesFile(project, resourcesFile);
+        synchronized (fileLock) {
+            // edits appended while the files are written go to a fresh log and are kept
+            ProjectJournal journal = journal();
+            journal.beginSave();
+            saveFiles(project, tasksFile, resourcesFile);
+            journal.saved();
+        }
     }
     
     @Override
@@ -40,6 +74,10 @@ public class FileDataRepository implements IDataRepository {
     public Project loadProject() throws Exception {
         File tasksFile = new File(tasksFilePath);
         File resourcesFile = new File(resourcesFilePath);
+        synchronized (fileLock) {
+            // finish or drop a save cut short by a crash
+            recoverSave(tasksFile.toPath(), resourcesFile.toPath());
+        }
         
         // Try alternative paths if files don't exist
         if (!tasksFile.exists() || !resourcesFile.exists()) {
@@ -51,11 +89,23 @@ public class FileDataRepository implements IDataRepository {
             throw new IOException("Tasks.txt or Resources.txt not found");
         }
         
+        ProjectJournal journal = journal();
+        synchronized (fileLock) {
+            Project project = parseFiles(tasksFile, resourcesFile);
+            // logs left by a failed save or an unfinished compaction are older than the live one
+            ProjectJournal.replay(journal.getSavingPath(), project);
+            ProjectJournal.replay(journal.getCompactingPath(), project);
+            ProjectJournal.replay(journal.getPath(), project);
+            journal.recover();
+            return project;
+        }
+    }
+
+    private static Project parseFiles(File tasksFile, File resourcesFile) throws IOException {
         Project project = new Project();
         Map<Integer, List<Integer>> dependencyMap = FileUtilty.parseTasksFile(tasksFile, project);
         Map<Resource, Map<Integer, Integer>> resourceAllocTemp = FileUtilty.parseResourcesFile(resourcesFile);
         FileUtilty.resolveProjectData(project, dependencyMap, resourceAllocTemp);
-        
         return project;
     }
     
@@ -68,54 +118,60 @@ public class FileDataRepository implements IDataRepository {
     
     @Override
     public void updateTask(Task task, int projectId) throws Exception {
-        Project project = loadProject();
-        project.tasksById.put(task.id, task);
-        saveProject(project);
+        journal().append(ProjectJournal.taskRecord(task));
     }
     
     @Override
     public void deleteTask(int taskId, int projectId) throws Exception {
-        Project project = loadProject();
-        project.tasksById.remove(taskId);
-        
-        // Remove from dependencies and children
-        for (Task t : project.tasksById.values()) {
-            t.dependencies.removeIf(dep -> dep.id == taskId);
-            t.children.removeIf(child -> child.id == taskId);
-        }
-        
-        // Remove resource allocations
-        for (Resource r : project.resources) {
-            r.allocations.entrySet().removeIf(entry -> entry.getKey().id == taskId);
-        }
-        
-        saveProject(project);
+        // replay also removes the task from dependencies, children and resource allocations
+        journal().append(ProjectJournal.deleteTaskRecord(taskId));
     }
     
     @Override
     public void updateResource(Resource resource, int projectId) throws Exception {
-        Project project = loadProject();
-        
-        // Find and update resource
-        Resource existing = project.resources.stream()
-            .filter(r -> r.name.equals(resource.name))
-            .findFirst()
-            .orElse(null);
-            
-        if (existing != null) {
-            existing.allocations = resource.allocations;
-        } else {
-            project.resources.add(resource);
-        }
-        
-        saveProject(project);
+        journal().append(ProjectJournal.resourceRecord(resource));
     }
     
     @Override
     public void deleteResource(String resourceName, int projectId) throws Exception {
-        Project project = loadProject();
-        project.resources.removeIf(r -> r.name.equals(resourceName));
-        saveProject(project);
+        journal().append(ProjectJournal.deleteResourceRecord(resourceName));
+    }
+
+    /** Forces journalled edits to disk; they are otherwise synced in batches */
+    public void flush() throws IOException {
+        journal().sync();
+    }
+
+    /** Flushes the journal and waits for a running compaction */
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    synchronized ProjectJournal journal() {
+        if (journal == null) {
+            Path tasks = new File(tasksFilePath).toPath();
+            journal = new ProjectJournal(tasks.resolveSibling(tasks.getFileName() + ".journal"), this::compact,
+                ProjectJournal.DEFAULT_SYNC_BATCH, ProjectJournal.DEFAULT_SYNC_INTERVAL_MILLIS, journalCompactBytes);
+        }
+        return journal;
+    }
+
+    // runs on the journal's background thread; edits keep going to the fresh log meanwhile
+    private void compact(Path rotatedJournal) throws IOException {
+        File tasksFile = new File(tasksFilePath);
+        File resourcesFile = new File(resourcesFilePath);
+        synchronized (fileLock) {
+            // a full save since the rotation already covers it
+            if (!Files.exists(rotatedJournal)) return;
+            Project project = parseFiles(tasksFile, resourcesFile);
+            ProjectJournal.replay(journal.getSavingPath(), project);
+            ProjectJournal.replay(rotatedJournal, project);
+            saveFiles(project, tasksFile, resourcesFile);
+            journal.saved();
+            journal.compacted();
+        }
     }
     
     @Override
@@ -131,43 +187,254 @@ public class FileDataRepository implements IDataRepository {
     }
     
     // Helper methods
-    private void saveTasksFile(Project project, File file) throws IOException {
-        try (PrintWriter pw = new PrintWriter(file)) {
-            pw.println("# ID, Title, Start, End, Dependencies...");
-            for (Task t : project.getTasks()) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(t.id).append(", ")
-                  .append(t.title).append(", ")
-                  .append(t.startTime.format(Task.Formater)).append(", ")
-                  .append(t.endTime.format(Task.Formater));
-                
-                if (!t.dependencies.isEmpty()) {
-                    sb.append(", ");
-                    for (int i = 0; i < t.dependencies.size(); i++) {
-                        sb.append(t.dependencies.get(i).id);
-                        if (i < t.dependencies.size() - 1) sb.append(" ");
-                    }
-                }
-                pw.println(sb);
+
+    // both files are replaced together or not at all
+    private void saveFiles(Project project, File tasksFile, File resourcesFile) throws IOException {
+        Path tasks = tasksFile.toPath();
+        Path resources = resourcesFile.toPath();
+        Path tasksTemp = tempOf(tasks);
+        Path resourcesTemp = tempOf(resources);
+        Path commit = commitOf(tasks);
+        recoverSave(tasks, resources);
+        // one write buffer serves every file of this save
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+        try {
+            writeAtomically(tasksTemp, buffer, out -> writeTasks(project, out));
+            saveFault.reached("tasks-written");
+            writeAtomically(resourcesTemp, buffer, out -> writeResources(project, out));
+            saveFault.reached("resources-written");
+        } catch (IOException | RuntimeException e) {
+            // nothing committed yet: the old files stay
+            Files.deleteIfExists(tasksTemp);
+            Files.deleteIfExists(resourcesTemp);
+            throw e;
+        }
+
+        // once the marker exists the save is rolled forward, even after a crash
+        writeAtomically(commit, buffer, out -> out.putString(tasksTemp.getFileName() + System.lineSeparator()));
+        syncDirectory(commit);
+        saveFault.reached("committed");
+        Files.move(tasksTemp, tasks, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        saveFault.reached("tasks-renamed");
+        Files.move(resourcesTemp, resources, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncRenames(tasks, resources);
+        Files.delete(commit);
+    }
+
+    // finishes a committed save or discards an uncommitted one
+    private static void recoverSave(Path tasks, Path resources) throws IOException {
+        Path commit = commitOf(tasks);
+        if (Files.exists(commit)) {
+            if (Files.exists(tempOf(tasks))) {
+                Files.move(tempOf(tasks), tasks, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            if (Files.exists(tempOf(resources))) {
+                Files.move(tempOf(resources), resources, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
             }
+            syncRenames(tasks, resources);
+            Files.delete(commit);
+        } else {
+            Files.deleteIfExists(tempOf(tasks));
+            Files.deleteIfExists(tempOf(resources));
         }
     }
-    
-    private void saveResourcesFile(Project project, File file) throws IOException {
-        try (PrintWriter pw = new PrintWriter(file)) {
-            pw.println("# ResourceName, TaskId:Percentage, ...");
-            for (Resource r : project.getResources()) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(r.getName());
-                for (Map.Entry<Task, Integer> e : r.getAllocations().entrySet()) {
-                    sb.append(", ").append(e.getKey().id).append(":").append(e.getValue());
+
+    // the renames must be on disk before the marker that replays them goes away
+    private static void syncRenames(Path tasks, Path resources) throws IOException {
+        syncDirectory(tasks);
+        Path tasksDir = tasks.toAbsolutePath().getParent();
+        if (tasksDir == null || !tasksDir.equals(resources.toAbsolutePath().getParent())) {
+            syncDirectory(resources);
+        }
+    }
+
+    // forces the directory entry of file; skipped where a directory cannot be opened (Windows)
+    private static void syncDirectory(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir == null) return;
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(dir, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private static Path tempOf(Path file) {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    private static Path commitOf(Path tasks) {
+        return tasks.resolveSibling(tasks.getFileName() + ".commit");
+    }
+
+    private interface TextBody {
+        void write(TextWriter out) throws IOException;
+    }
+
+    private static void writeAtomically(Path file, ByteBuffer buffer, TextBody body) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            TextWriter out = new TextWriter(channel, buffer);
+            body.write(out);
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    private static void writeTasks(Project project, TextWriter out) throws IOException {
+        out.putString("# ID, Title, Start, End, Dependencies...");
+        out.newLine();
+        for (Task t : project.getTasks()) {
+            out.putInt(t.id);
+            out.putString(", ");
+            out.putString(t.title);
+            out.putString(", ");
+            out.putDate(t.startTime);
+            out.putString(", ");
+            out.putDate(t.endTime);
+            List<Task> deps = t.dependencies;
+            for (int i = 0; i < deps.size(); i++) {
+                out.putString(i == 0 ? ", " : " ");
+                out.putInt(deps.get(i).id);
+            }
+            out.newLine();
+        }
+    }
+
+    private static void writeResources(Project project, TextWriter out) throws IOException {
+        out.putString("# ResourceName, TaskId:Percentage, ...");
+        out.newLine();
+        for (Resource r : project.getResources()) {
+            out.putString(r.getName());
+            for (Map.Entry<Task, Integer> e : r.getAllocations().entrySet()) {
+                out.putString(", ");
+                out.putInt(e.getKey().id);
+                out.putByte(':');
+                out.putInt(e.getValue());
+            }
+            out.newLine();
+        }
+    }
+
+    // encodes text straight into the given buffer and writes it to the channel when full
+    static class TextWriter {
+        private static final byte[] NEW_LINE = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+        private final FileChannel channel;
+        private final ByteBuffer buf;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final byte[] digits = new byte[11];
+
+        TextWriter(FileChannel channel, ByteBuffer buf) {
+            this.channel = channel;
+            this.buf = buf;
+            buf.clear();
+        }
+
+        void putByte(int b) throws IOException {
+            if (!buf.hasRemaining()) drain();
+            buf.put((byte) b);
+        }
+
+        void putString(String s) throws IOException {
+            int n = s.length();
+            int i = 0;
+            // ASCII fast path, one byte per char
+            for (; i < n; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80) break;
+                if (!buf.hasRemaining()) drain();
+                buf.put((byte) c);
+            }
+            if (i < n) putEncoded(CharBuffer.wrap(s, i, n));
+        }
+
+        void putInt(int value) throws IOException {
+            if (value == Integer.MIN_VALUE) {
+                putString(Integer.toString(value));
+                return;
+            }
+            if (value < 0) {
+                putByte('-');
+                value = -value;
+            }
+            int pos = digits.length;
+            do {
+                digits[--pos] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            for (; pos < digits.length; pos++) putByte(digits[pos]);
+        }
+
+        // same text as Task.Formater (yyyyMMdd+HHmm) without a formatter per value
+        void putDate(LocalDateTime time) throws IOException {
+            int year = time.getYear();
+            if (year < 1000 || year > 9999) {
+                putString(time.format(Task.Formater));
+                return;
+            }
+            putInt(year);
+            putTwoDigits(time.getMonthValue());
+            putTwoDigits(time.getDayOfMonth());
+            putByte('+');
+            putTwoDigits(time.getHour());
+            putTwoDigits(time.getMinute());
+        }
+
+        void newLine() throws IOException {
+            for (byte b : NEW_LINE) putByte(b);
+        }
+
+        void flush() throws IOException {
+            drain();
+        }
+
+        private void putTwoDigits(int value) throws IOException {
+            putByte('0' + value / 10);
+            putByte('0' + value % 10);
+        }
+
+        private void putEncoded(CharBuffer chars) throws IOException {
+            encoder.reset();
+            while (true) {
+                CoderResult result = encoder.encode(chars, buf, true);
+                if (result.isOverflow()) {
+                    drain();
+                } else {
+                    break;
                 }
-                pw.println(sb);
             }
+            while (encoder.flush(buf).isOverflow()) drain();
+        }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) channel.write(buf);
+            buf.clear();
         }
     }
+
+    /** Test hook: called between the steps of a save, may throw to simulate a crash there */
+    interface SaveFault {
+        SaveFault NONE = step -> { };
+
+        void reached(String step) throws IOException;
+    }
+
+    void setSaveFault(SaveFault saveFault) {
+        this.saveFault = saveFault;
+    }
     
-    public void setFilePaths(String tasksPath, String resourcesPath) {
+    public void setFilePaths(String tasksPath, String resourcesPath) throws IOException {
+        close();
+        journal = null;
         this.tasksFilePath = tasksPath;
         this.resourcesFilePath = resourcesPath;
     }
@@ -4,6 +4,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -13,8 +14,24 @@ import java.util.Map;
 
 public class FileUtilty {
 
+    // task files at least this big are imported on several threads
+    public static final long PARALLEL_IMPORT_THRESHOLD = 64L * 1024 * 1024;
+
     // get data from tasks.txt and create objects from it
     public static Map<Integer, List<Integer>> parseTasksFile(File tasksFile, Project project) throws IOException {
+        if (tasksFile.length() >= PARALLEL_IMPORT_THRESHOLD) {
+            int threads = Runtime.getRuntime().availableProcessors();
+            return ParallelTaskImporter.importTasksFile(tasksFile, project, threads);
+        }
+        return TaskFileScanner.scanTasksFile(tasksFile, project);
+    }
+
+    public static Map<Resource, Map<Integer, Integer>> parseResourcesFile(File resourcesFile) throws IOException {
+        return TaskFileScanner.scanResourcesFile(resourcesFile);
+    }
+
+    // split based parser, kept as the reference the scanner is tested and benchmarked against
+    static Map<Integer, List<Integer>> parseTasksFileWithSplit(File tasksFile, Project project) throws IOException {
         Map<Integer, List<Integer>> dependencyMap = new HashMap<>();
         try (BufferedReader br = new BufferedReader(new FileReader(tasksFile))) {
             String line;
@@ -29,8 +46,8 @@ public class FileUtilty {
                 try {
                     int id = Integer.parseInt(parts[0].trim());
                     String title = parts[1].trim();
-                    String start = parts[2].trim();
-                    String end = parts[3].trim();
+                    LocalDateTime start = LocalDateTime.parse(parts[2].trim(), Task.Formater);
+                    LocalDateTime end = LocalDateTime.parse(parts[3].trim(), Task.Formater);
                     Task t = new Task(id, title, start, end); // creating obvjects here
                     project.addTask(t);
 
@@ -56,7 +73,7 @@ public class FileUtilty {
         }
         return dependencyMap;
     }
-    public static Map<Resource, Map<Integer, Integer>> parseResourcesFile(File resourcesFile) throws IOException {
+    static Map<Resource, Map<Integer, Integer>> parseResourcesFileWithSplit(File resourcesFile) throws IOException {
         Map<Resource, Map<Integer, Integer>> map = new LinkedHashMap<>();
         try (BufferedReader br = new BufferedReader(new FileReader(resourcesFile))) {
             String line;
@@ -96,11 +113,11 @@ public class FileUtilty {
             for (Integer depId : e.getValue()) {
                 Task dep = project.getTaskById(depId);
                 if (dep != null) {
-                    t.dependencies.add(dep);
-                    dep.children.add(t);
+                    project.addDependency(t, dep);
                 }
             }
         }
+        DependencyValidator.warnAboutCycles(project);
 
         //then assighn resources to tasks
         for (Map.Entry<Resource, Map<Integer, Integer>> e : resourceAllocTemp.entrySet()) {
@@ -0,0 +1,317 @@
+package com.mycompany.projectplanner;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gantt chart for large plans, meant to sit in a JScrollPane. One row per task,
+ * sorted by start time. Only the rows inside the clip rectangle are painted; they
+ * are rendered once into fixed-height image tiles, so scrolling mostly blits
+ * cached tiles. The layout (row order, bar positions, critical flags) is rebuilt
+ * lazily after the schedule changes.
+ */
+public class GanttChartPanel extends JPanel implements Scrollable, ScheduleEngine.ScheduleListener {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int NAME_WIDTH = 150;
+    static final int MARGIN = 20;
+    static final int HEADER_HEIGHT = MARGIN + 20;
+    static final int BAR_HEIGHT = 25;
+    static final int ROW_HEIGHT = BAR_HEIGHT + 15;
+    static final int TILE_ROWS = 16;
+    // a 16-row tile at 1000 px wide is about 2.5 MB
+    static final int MAX_TILES = 24;
+    // connectors per block of the span index
+    private static final int SPAN_BLOCK = 64;
+
+    private static final Color BAR = new Color(50, 150, 255);
+    private static final Color BAR_BORDER = BAR.darker();
+    private static final Color CRITICAL_BAR = new Color(220, 60, 60);
+    private static final Color CRITICAL_BORDER = CRITICAL_BAR.darker();
+    private static final Color ARROW = Color.RED.darker();
+
+    private final Project project;
+
+    // layout, rebuilt when null
+    private TaskGraph graph;
+    private int[] rowTask;      // graph index shown on each row
+    private int[] rowOfTask;    // row of each graph index
+    private boolean[] critical; // per graph index
+    private long startMinute;
+    private long totalMinutes;
+    private String[] labels;    // per row, built on first paint of the row
+    private String[] durations;
+    // connectors (task, dependency) sorted by their top row; each one covers rows
+    // [spanTop, spanBottom], and blockBottom holds the largest spanBottom per SPAN_BLOCK
+    private int[] spanTask;
+    private int[] spanDependency;
+    private int[] spanTop;
+    private int[] spanBottom;
+    private int[] blockBottom;
+
+    private final Map<Integer, BufferedImage> tiles = new LinkedHashMap<Integer, BufferedImage>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+            return size() > MAX_TILES;
+        }
+    };
+    private int tileWidth = -1;
+
+    public GanttChartPanel(Project project) {
+        this.project = project;
+        setBackground(Color.WHITE);
+        project.scheduleEngine().addListener(this);
+    }
+
+    /** Stops listening to the project; call when the chart is closed. */
+    public void detach() {
+        project.scheduleEngine().removeListener(this);
+    }
+
+    @Override
+    public void scheduleChanged(ScheduleEngine.ScheduleChange change) {
+        // an edit can move a task to another row, so the whole layout goes
+        graph = null;
+        tiles.clear();
+        revalidate();
+        repaint();
+    }
+
+    private void ensureLayout() {
+        if (graph != null) return;
+        graph = project.graph();
+        int n = graph.size();
+
+        // stable sort by start, same order as sorting tasksById.values()
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        TaskGraph g = graph;
+        Arrays.sort(order, (a, b) -> Long.compare(g.startMinute(a), g.startMinute(b)));
+        rowTask = new int[n];
+        rowOfTask = new int[n];
+        for (int row = 0; row < n; row++) {
+            rowTask[row] = order[row];
+            rowOfTask[order[row]] = row;
+        }
+
+        critical = new boolean[n];
+        try {
+            ScheduleEngine engine = project.scheduleEngine();
+            engine.projectFinish();
+            for (int i = 0; i < n; i++) critical[i] = engine.isCritical(graph.task(i));
+        } catch (DependencyCycleException e) {
+            // cyclic dependencies: draw without highlighting
+        }
+
+        if (n > 0) {
+            startMinute = BinarySnapshotRepository.epochMinutes(project.projectStart());
+            totalMinutes = Math.max(1, BinarySnapshotRepository.epochMinutes(project.projectEnd()) - startMinute);
+        }
+        labels = new String[n];
+        durations = new String[n];
+        indexConnectorSpans();
+    }
+
+    private void indexConnectorSpans() {
+        int edges = graph.edgeCount();
+        long[] keys = new long[edges];
+        int[] task = new int[edges];
+        int[] dependency = new int[edges];
+        int e = 0;
+        for (int i = 0; i < graph.size(); i++) {
+            for (int k = graph.predecessorStart(i); k < graph.predecessorEnd(i); k++) {
+                int d = graph.predecessorAt(k);
+                task[e] = i;
+                dependency[e] = d;
+                keys[e] = ((long) Math.min(rowOfTask[i], rowOfTask[d]) << 32) | e;
+                e++;
+            }
+        }
+        Arrays.sort(keys, 0, e);
+        spanTask = new int[e];
+        spanDependency = new int[e];
+        spanTop = new int[e];
+        spanBottom = new int[e];
+        blockBottom = new int[(e + SPAN_BLOCK - 1) / SPAN_BLOCK];
+        Arrays.fill(blockBottom, -1);
+        for (int s = 0; s < e; s++) {
+            int edge = (int) keys[s];
+            spanTask[s] = task[edge];
+            spanDependency[s] = dependency[edge];
+            spanTop[s] = (int) (keys[s] >>> 32);
+            spanBottom[s] = Math.max(rowOfTask[task[edge]], rowOfTask[dependency[edge]]);
+            blockBottom[s / SPAN_BLOCK] = Math.max(blockBottom[s / SPAN_BLOCK], spanBottom[s]);
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        ensureLayout();
+        return new Dimension(800, HEADER_HEIGHT + rowTask.length * ROW_HEIGHT + MARGIN);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        ensureLayout();
+        Graphics2D g2d = (Graphics2D) g;
+        if (rowTask.length == 0) {
+            g2d.drawString("No tasks to visualize.", 20, 20);
+            return;
+        }
+
+        int chartWidth = chartWidth();
+        if (getWidth() != tileWidth) {
+            tiles.clear();
+            tileWidth = getWidth();
+        }
+
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        if (clip.y < HEADER_HEIGHT) {
+            int startX = NAME_WIDTH + MARGIN;
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(Color.LIGHT_GRAY);
+            g2d.drawLine(startX, HEADER_HEIGHT - 5, startX + chartWidth, HEADER_HEIGHT - 5);
+            g2d.setColor(Color.BLACK);
+            g2d.drawString("Start: " + project.projectStart().toLocalDate(), startX, MARGIN);
+            g2d.drawString("End: " + project.projectEnd().toLocalDate(), startX + chartWidth - 100, MARGIN);
+        }
+
+        int tileHeight = TILE_ROWS * ROW_HEIGHT;
+        int tileCount = (rowTask.length + TILE_ROWS - 1) / TILE_ROWS;
+        int firstTile = Math.max(0, (clip.y - HEADER_HEIGHT) / tileHeight);
+        int lastTile = Math.min(tileCount - 1, (clip.y + clip.height - HEADER_HEIGHT) / tileHeight);
+        for (int t = firstTile; t <= lastTile; t++) {
+            BufferedImage tile = tiles.get(t);
+            if (tile == null) {
+                tile = renderTile(t, chartWidth);
+                tiles.put(t, tile);
+            }
+            g2d.drawImage(tile, 0, HEADER_HEIGHT + t * tileHeight, null);
+        }
+    }
+
+    int cachedTileCount() {
+        return tiles.size();
+    }
+
+    private int chartWidth() {
+        return Math.max(1, getWidth() - NAME_WIDTH - MARGIN * 2);
+    }
+
+    // paints the bars of one tile plus the part of every dependency connector crossing it
+    private BufferedImage renderTile(int tile, int chartWidth) {
+        int firstRow = tile * TILE_ROWS;
+        int lastRow = Math.min(rowTask.length, firstRow + TILE_ROWS);
+        BufferedImage image = new BufferedImage(Math.max(1, getWidth()), TILE_ROWS * ROW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setFont(getFont());
+            g2d.translate(0, -firstRow * ROW_HEIGHT);
+            FontMetrics metrics = g2d.getFontMetrics();
+
+            for (int row = firstRow; row < lastRow; row++) {
+                int i = rowTask[row];
+                int y = row * ROW_HEIGHT;
+                int xPos = barX(i, chartWidth);
+                int barW = barWidth(i, chartWidth);
+                Task task = graph.task(i);
+                if (labels[row] == null) {
+                    labels[row] = task.id + ". " + task.title;
+                    durations[row] = String.format("%.1f h", task.getDurationInHours());
+                }
+
+                g2d.setColor(Color.BLACK);
+                g2d.drawString(labels[row], MARGIN, y + BAR_HEIGHT - 8);
+
+                g2d.setColor(critical[i] ? CRITICAL_BAR : BAR);
+                g2d.fillRect(xPos, y, barW, BAR_HEIGHT);
+                g2d.setColor(critical[i] ? CRITICAL_BORDER : BAR_BORDER);
+                g2d.drawRect(xPos, y, barW, BAR_HEIGHT);
+
+                g2d.setColor(Color.WHITE);
+                g2d.drawString("ID: " + task.id + "  ", xPos + 5, y + 15);
+                g2d.drawString(durations[row], xPos + barW - metrics.stringWidth(durations[row]) - 5, y + BAR_HEIGHT - 8);
+            }
+
+            // every connector whose rows overlap this tile, including ones that only pass through
+            g2d.setColor(ARROW);
+            int end = firstSpanBelow(lastRow - 1);
+            for (int block = 0; block * SPAN_BLOCK < end; block++) {
+                if (blockBottom[block] < firstRow) continue;
+                for (int k = block * SPAN_BLOCK; k < Math.min(end, (block + 1) * SPAN_BLOCK); k++) {
+                    if (spanBottom[k] >= firstRow) drawConnector(g2d, spanTask[k], spanDependency[k], chartWidth);
+                }
+            }
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+
+    // index of the first connector whose top row is below the given row
+    private int firstSpanBelow(int row) {
+        int lo = 0;
+        int hi = spanTop.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (spanTop[mid] <= row) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void drawConnector(Graphics2D g2d, int task, int dependency, int chartWidth) {
+        int xPos = barX(task, chartWidth);
+        int y = rowOfTask[task] * ROW_HEIGHT + BAR_HEIGHT / 2;
+        int depY = rowOfTask[dependency] * ROW_HEIGHT + BAR_HEIGHT / 2;
+        g2d.drawLine(xPos, y, xPos - 5, y);
+        g2d.drawLine(xPos - 5, y, xPos - 5, depY);
+        g2d.drawLine(xPos - 5, depY, NAME_WIDTH + MARGIN + chartWidth, depY);
+    }
+
+    private int barX(int i, int chartWidth) {
+        return (int) (NAME_WIDTH + MARGIN + (double) (graph.startMinute(i) - startMinute) / totalMinutes * chartWidth);
+    }
+
+    private int barWidth(int i, int chartWidth) {
+        return (int) ((double) (graph.endMinute(i) - graph.startMinute(i)) / totalMinutes * chartWidth);
+    }
+
+    // --- Scrollable: rows scroll vertically, the chart always fits the width ---
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(1000, 600);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return ROW_HEIGHT;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return Math.max(ROW_HEIGHT, visibleRect.height - ROW_HEIGHT);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
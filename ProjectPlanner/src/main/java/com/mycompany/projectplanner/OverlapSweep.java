@@ -0,0 +1,124 @@
+package com.mycompany.projectplanner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Finds every pair of overlapping tasks with a sort-and-sweep over start
+ * times: O(n log n + k) for n tasks and k overlapping pairs. Pairs are handed
+ * to a listener as they are found, so even millions of pairs never have to be
+ * held in memory. Two tasks overlap as defined by Task.overLapsWith: the later
+ * start is before the earlier end.
+ */
+public class OverlapSweep {
+
+    public interface OverlapListener {
+        void overlap(Task first, Task second);
+    }
+
+    public interface ResourceConflictListener {
+        void conflict(Resource resource, Task first, Task second);
+    }
+
+    // receives graph indices; first starts no later than second
+    interface PairSink {
+        void pair(int first, int second);
+    }
+
+    /** Reports every overlapping pair in the project, returns the pair count */
+    public static long findOverlaps(Project project, OverlapListener listener) {
+        TaskGraph graph = project.graph();
+        int n = graph.size();
+        int[] all = new int[n];
+        for (int i = 0; i < n; i++) all[i] = i;
+        return sweep(graph, all, n, (a, b) -> listener.overlap(graph.task(a), graph.task(b)));
+    }
+
+    /**
+     * Reports every pair of overlapping tasks that share a resource (double
+     * booking), resource by resource in list order. Returns the pair count.
+     */
+    public static long findResourceConflicts(Project project, ResourceConflictListener listener) {
+        TaskGraph graph = project.graph();
+        int[] members = new int[16];
+        long total = 0;
+        for (Resource r : project.getResources()) {
+            int count = 0;
+            for (Task t : r.getAllocations().keySet()) {
+                int index = graph.indexOf(t.id);
+                if (index < 0 || graph.task(index) != t) continue;
+                if (count == members.length) members = Arrays.copyOf(members, count * 2);
+                members[count++] = index;
+            }
+            total += sweep(graph, members, count, (a, b) -> listener.conflict(r, graph.task(a), graph.task(b)));
+        }
+        return total;
+    }
+
+    /** Streams a text report of all task overlaps and resource double bookings */
+    public static void writeReport(Project project, Writer out) throws IOException {
+        // listeners cannot throw checked exceptions, so tunnel them out
+        try {
+            out.write("--- Overlapping Tasks ---\n");
+            long overlaps = findOverlaps(project, (a, b) ->
+                    write(out, "Task " + a.id + " overlaps with Task " + b.id + "\n"));
+            out.write(overlaps + " overlapping pairs\n\n");
+
+            out.write("--- Resource Double Booking ---\n");
+            long conflicts = findResourceConflicts(project, (r, a, b) ->
+                    write(out, r.getName() + ": Task " + a.id + " overlaps with Task " + b.id + "\n"));
+            out.write(conflicts + " double bookings\n");
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    /**
+     * Sweeps the given graph indices in start order. Intervals still running
+     * are kept in an active array; an expired one is dropped the first time it
+     * is seen, and every one that is kept yields a pair, hence O(n log n + k).
+     */
+    static long sweep(TaskGraph graph, int[] indices, int count, PairSink sink) {
+        // start minute in the high half, position in the low half: one primitive sort
+        // (epoch minutes fit in 32 bits until the year 6000)
+        long[] byStart = new long[count];
+        for (int p = 0; p < count; p++) {
+            byStart[p] = (graph.startMinute(indices[p]) << 32) | p;
+        }
+        Arrays.sort(byStart);
+
+        int[] active = new int[Math.min(count, 64)];
+        int activeCount = 0;
+        long pairs = 0;
+        for (long packed : byStart) {
+            int i = indices[(int) packed];
+            long start = graph.startMinute(i);
+            if (start >= graph.endMinute(i)) continue; // zero length tasks overlap nothing
+
+            int kept = 0;
+            for (int a = 0; a < activeCount; a++) {
+                int j = active[a];
+                if (graph.endMinute(j) > start) {
+                    active[kept++] = j;
+                    sink.pair(j, i);
+                    pairs++;
+                }
+            }
+            activeCount = kept;
+            if (activeCount == active.length) active = Arrays.copyOf(active, activeCount * 2);
+            active[activeCount++] = i;
+        }
+        return pairs;
+    }
+
+    private static void write(Writer out, String line) {
+        try {
+            out.write(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.mycompany.projectplanner;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Runs the Project reports on a fork-join pool for very large projects. The
+ * work is split into index ranges whose partial results are combined left to
+ * right, so every report lists the same entries in the same order, with the
+ * same sums, as the sequential method on Project.
+ */
+public class ParallelAnalysis implements AutoCloseable {
+
+    // ranges per worker when the leaf size is derived from the input size, and the smallest leaf
+    static final int LEAVES_PER_THREAD = 4;
+    static final int MIN_LEAF_SIZE = 256;
+
+    private final Project project;
+    private final ForkJoinPool pool;
+    // fixed leaf size, or 0 to derive it from each input's size
+    private final int threshold;
+
+    public ParallelAnalysis(Project project) {
+        this(project, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelAnalysis(Project project, int parallelism) {
+        this(project, parallelism, 0);
+    }
+
+    ParallelAnalysis(Project project, int parallelism, int threshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.project = project;
+        this.pool = new ForkJoinPool(parallelism);
+        this.threshold = Math.max(0, threshold);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /** Same as Project.projectStart */
+    public LocalDateTime projectStart() {
+        TaskGraph graph = project.graph();
+        if (graph.size() == 0) return null;
+        long min = invoke(graph.size(), (from, to) -> {
+            long m = Long.MAX_VALUE;
+            for (int i = from; i < to; i++) m = Math.min(m, graph.startMinute(i));
+            return m;
+        }, Math::min);
+        return BinarySnapshotRepository.fromEpochMinutes(min);
+    }
+
+    /** Same as Project.projectEnd */
+    public LocalDateTime projectEnd() {
+        TaskGraph graph = project.graph();
+        if (graph.size() == 0) return null;
+        long max = invoke(graph.size(), (from, to) -> {
+            long m = Long.MIN_VALUE;
+            for (int i = from; i < to; i++) m = Math.max(m, graph.endMinute(i));
+            return m;
+        }, Math::max);
+        return BinarySnapshotRepository.fromEpochMinutes(max);
+    }
+
+    /** Same as Project.projectDuration */
+    public Duration projectDuration() {
+        LocalDateTime start = projectStart();
+        LocalDateTime end = projectEnd();
+        if (start == null || end == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(start, end);
+    }
+
+    /** Same entries, in the same order, as Project.findOverlappingDependencyPairs */
+    public List<String> findOverlappingDependencyPairs() {
+        TaskGraph graph = project.graph();
+        return invoke(graph.size(), (from, to) -> {
+            List<String> result = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                Task t = graph.task(i);
+                for (Task dep : t.dependencies) {
+                    if (t.startTime.isBefore(dep.endTime) && t.overLapsWith(dep)) {
+                        result.add("Task " + t.id + " overlaps with its dependency Task " + dep.id);
+                    }
+                }
+            }
+            return result;
+        }, ParallelAnalysis::concat);
+    }
+
+    /** Same totals, summed in the same order, as Project.totalEffortHoursPerResource */
+    public Map<String, Double> totalEffortHoursPerResource() {
+        List<Resource> resources = project.getResources();
+        double[] totals = new double[resources.size()];
+        invoke(resources.size(), (from, to) -> {
+            for (int r = from; r < to; r++) {
+                double total = 0.0;
+                for (Map.Entry<Task, Integer> e : resources.get(r).allocations.entrySet()) {
+                    double taskHours = e.getKey().getDurationInHours();
+                    total += taskHours * (e.getValue() / 100.0);
+                }
+                totals[r] = total;
+            }
+            return null;
+        }, (a, b) -> null);
+
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (int r = 0; r < totals.length; r++) {
+            map.put(resources.get(r).name, totals[r]);
+        }
+        return map;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    interface RangeFunction<R> {
+        R apply(int from, int to);
+    }
+
+    private <R> R invoke(int size, RangeFunction<R> leaf, BinaryOperator<R> combine) {
+        return pool.invoke(new RangeTask<>(0, size, leafSize(size), leaf, combine));
+    }
+
+    // a few ranges per worker so 10k resources split as well as 1M tasks
+    int leafSize(int size) {
+        if (threshold > 0) return threshold;
+        return Math.max(MIN_LEAF_SIZE, size / (pool.getParallelism() * LEAVES_PER_THREAD));
+    }
+
+    private static <T> List<T> concat(List<T> left, List<T> right) {
+        if (left.isEmpty()) return right;
+        left.addAll(right);
+        return left;
+    }
+
+    // splits [from, to) in halves until small, combining left before right
+    private static class RangeTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final RangeFunction<R> leaf;
+        private final BinaryOperator<R> combine;
+
+        RangeTask(int from, int to, int threshold, RangeFunction<R> leaf, BinaryOperator<R> combine) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.leaf = leaf;
+            this.combine = combine;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= threshold) {
+                return leaf.apply(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask<R> left = new RangeTask<>(from, mid, threshold, leaf, combine);
+            RangeTask<R> right = new RangeTask<>(mid, to, threshold, leaf, combine);
+            left.fork();
+            R rightResult = right.compute();
+            return combine.apply(left.join(), rightResult);
+        }
+    }
+}
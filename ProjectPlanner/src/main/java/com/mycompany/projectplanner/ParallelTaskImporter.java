@@ -0,0 +1,132 @@
+package com.mycompany.projectplanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Imports very large Tasks.txt files by memory-mapping them, cutting the file
+ * into chunks on line boundaries and parsing the chunks on several threads.
+ * Each chunk fills its own buffers, which are merged into the project in file
+ * order, so the result is the same as a sequential parse.
+ */
+public class ParallelTaskImporter {
+
+    // target size of one parsed chunk
+    static final long DEFAULT_CHUNK_BYTES = 32L * 1024 * 1024;
+
+    // per-chunk results, merged in file order
+    private static class ChunkResult {
+        final List<Task> tasks = new ArrayList<>();
+        final Map<Integer, List<Integer>> dependencyMap = new HashMap<>();
+    }
+
+    public static Map<Integer, List<Integer>> importTasksFile(File tasksFile, Project project, int threads) throws IOException {
+        return importTasksFile(tasksFile, project, threads, DEFAULT_CHUNK_BYTES);
+    }
+
+    static Map<Integer, List<Integer>> importTasksFile(File tasksFile, Project project, int threads, long chunkBytes) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+
+        try (FileChannel channel = FileChannel.open(tasksFile.toPath(), StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, chunkBytes);
+            List<ChunkResult> results = new ArrayList<>();
+
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, bounds.length - 1)));
+            try {
+                List<Future<ChunkResult>> futures = new ArrayList<>();
+                for (int i = 0; i + 1 < bounds.length; i++) {
+                    long start = bounds[i];
+                    long end = bounds[i + 1];
+                    futures.add(executor.submit(() -> parseChunk(channel, start, end)));
+                }
+                for (Future<ChunkResult> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Task import interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) throw (IOException) cause;
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                throw new IOException(cause);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            Map<Integer, List<Integer>> dependencyMap = new HashMap<>();
+            for (ChunkResult result : results) {
+                for (Task t : result.tasks) {
+                    project.addTask(t);
+                }
+                dependencyMap.putAll(result.dependencyMap);
+            }
+            return dependencyMap;
+        }
+    }
+
+    // chunk start offsets plus the file size; every start is the first byte of a line
+    static long[] chunkBounds(FileChannel channel, long chunkBytes) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long next = chunkBytes;
+        while (next < size) {
+            long lineStart = nextLineStart(channel, next, size, probe);
+            if (lineStart >= size) break;
+            bounds.add(lineStart);
+            next = lineStart + chunkBytes;
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long pos = from;
+        while (pos < size) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') return pos + i + 1;
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private static ChunkResult parseChunk(FileChannel channel, long start, long end) throws IOException {
+        ChunkResult result = new ChunkResult();
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        int limit = buf.limit();
+        int lineStart = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buf.get(i) == '\n') {
+                TaskFileScanner.parseTaskLine(buf, lineStart, i, result.tasks::add, result.dependencyMap);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < limit) {
+            TaskFileScanner.parseTaskLine(buf, lineStart, limit, result.tasks::add, result.dependencyMap);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mycompany.projectplanner;
+
+/** Point-in-time view of a ConnectionPool; returned by ConnectionPool.getMetrics */
+public class PoolMetrics {
+    public final int activeConnections;
+    public final int idleConnections;
+    public final int threadsAwaiting;
+    public final long borrowCount;
+    public final double averageWaitMillis;
+    public final double maxWaitMillis;
+
+    public PoolMetrics(int activeConnections, int idleConnections, int threadsAwaiting,
+                       long borrowCount, double averageWaitMillis, double maxWaitMillis) {
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.threadsAwaiting = threadsAwaiting;
+        this.borrowCount = borrowCount;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("active=%d, idle=%d, waiting=%d, borrowed=%d, avg wait=%.2f ms, max wait=%.2f ms",
+            activeConnections, idleConnections, threadsAwaiting, borrowCount, averageWaitMillis, maxWaitMillis);
+    }
+}
@@ -17,38 +17,434 @@ public class Project {
     // Project ID for database operations
     private int projectId = -1;
 
+    // reverse of Resource.allocations: task -> (resource -> percentage), in resource list order
+    private final Map<Task, Map<Resource, Integer>> allocationsByTask = new HashMap<>();
+    private static final Comparator<Resource> RESOURCE_ORDER = Comparator.comparingLong(r -> r.sequence);
+    private long nextResourceSequence = 0;
+
+    // change tracking used for incremental database saves
+    private boolean trackingChanges = false;
+    private final Set<Integer> changedTasks = new LinkedHashSet<>();
+    private final Set<Integer> removedTasks = new LinkedHashSet<>();
+    private final Set<Long> addedDependencies = new LinkedHashSet<>();
+    private final Set<Long> removedDependencies = new LinkedHashSet<>();
+    private final Set<String> changedResources = new LinkedHashSet<>();
+    private final Set<String> removedResources = new LinkedHashSet<>();
+
+    // bumped when tasks or edges are added or removed, tells graph() when to rebuild
+    private int modCount = 0;
+    private TaskGraph graph;
+    // topological order of graph, dropped whenever the graph is rebuilt
+    private int[] topologicalOrder;
+    // built on first use, then kept up to date by the task methods below
+    private TaskIntervalIndex intervalIndex;
+    private ScheduleEngine scheduleEngine;
+
+    // bumped by every mutator, lets callers spot stale derived data cheaply
+    private long version = 0;
+
+    // running bounds and the tasks holding them; boundsValid = false means rescan on the next read
+    private boolean boundsValid = false;
+    private int boundsTaskCount;
+    private Task earliestTask;
+    private Task latestTask;
+    private LocalDateTime minStart;
+    private LocalDateTime maxEnd;
+    private int dependencyCount = 0;
+    // effort totals cached for one version
+    private Map<String, Double> effortTotals;
+    private long effortVersion = -1;
+
 
     public void addTask(Task t) {
-        tasksById.put(t.id, t);
+        Task old = tasksById.put(t.id, t);
+        structureChanged();
+        if (old == null) boundsTaskCount++;
+        if (old != null && old != t && (old == earliestTask || old == latestTask)) {
+            boundsValid = false;
+        } else {
+            updateBounds(t);
+        }
+        if (intervalIndex != null) intervalIndex.put(t);
+        if (trackingChanges) {
+            changedTasks.add(t.id);
+        }
     }
 
     public void addResource(Resource r) {
         resources.add(r);
+        r.project = this;
+        r.sequence = nextResourceSequence++;
+        for (Map.Entry<Task, Integer> e : r.allocations.entrySet()) {
+            indexAllocation(r, e.getKey(), e.getValue());
+        }
+        resourceChanged(r);
     }
 
-    public Task getTaskById(int id) {
-        return tasksById.get(id);
+    /** Replace the stored task with the given one (matched by id) */
+    public void updateTask(Task t) {
+        Task old = tasksById.put(t.id, t);
+        if (old == null) {
+            structureChanged();
+            boundsTaskCount++;
+        } else if (old != t) {
+            // keep the graph and allocations pointing at the new object
+            for (Task dep : old.dependencies) {
+                dep.children.replaceAll(c -> c == old ? t : c);
+            }
+            for (Task child : old.children) {
+                child.dependencies.replaceAll(d -> d == old ? t : d);
+            }
+            t.dependencies = old.dependencies;
+            t.children = old.children;
+            // only the task's own team holds allocations to re-key
+            Map<Resource, Integer> team = allocationsByTask.remove(old);
+            if (team != null) {
+                for (Resource r : team.keySet()) {
+                    Integer pct = r.allocations.remove(old);
+                    if (pct != null) r.allocations.put(t, pct);
+                }
+                allocationsByTask.put(t, team);
+            }
+            if (earliestTask == old) earliestTask = t;
+            if (latestTask == old) latestTask = t;
+        }
+        taskChanged(t);
     }
 
+    /** Record an in-place edit of a task's title or dates */
+    public void taskChanged(Task t) {
+        version++;
+        updateBounds(t);
+        // same tasks and edges: patch the graph rather than rebuild it
+        if (graph != null && graph.modCount == modCount) graph.updateTask(t);
+        if (intervalIndex != null) intervalIndex.put(t);
+        if (scheduleEngine != null) scheduleEngine.taskEdited(t);
+        if (trackingChanges) {
+            changedTasks.add(t.id);
+        }
+    }
 
-    public LocalDateTime projectStart() {
-        LocalDateTime min = null;
-        for (Task t : tasksById.values()) {
-            if (min == null || t.startTime.isBefore(min)) {
-                min = t.startTime;
+    /** Remove a task together with its dependency edges and allocations */
+    public Task removeTask(int id) {
+        Task task = tasksById.remove(id);
+        if (task == null) return null;
+        structureChanged();
+        boundsTaskCount--;
+        if (task == earliestTask || task == latestTask) boundsValid = false;
+        dependencyCount -= task.dependencies.size() + task.children.size() - (task.dependencies.contains(task) ? 1 : 0);
+        if (intervalIndex != null) intervalIndex.remove(id);
+
+        for (Task dep : task.dependencies) {
+            dep.children.remove(task);
+        }
+        for (Task child : task.children) {
+            child.dependencies.remove(task);
+        }
+        task.dependencies.clear();
+        task.children.clear();
+        Map<Resource, Integer> team = allocationsByTask.remove(task);
+        if (team != null) {
+            for (Resource r : team.keySet()) {
+                r.allocations.remove(task);
             }
         }
-        return min;
+
+        if (trackingChanges) {
+            // edges and allocations of a removed task go with it
+            changedTasks.remove(id);
+            removedTasks.add(id);
+            addedDependencies.removeIf(e -> edgeTask(e) == id || edgeDependency(e) == id);
+            removedDependencies.removeIf(e -> edgeTask(e) == id || edgeDependency(e) == id);
+        }
+        return task;
     }
 
-    public LocalDateTime projectEnd() {
-        LocalDateTime max = null;
-        for (Task t : tasksById.values()) {
-            if (max == null || t.endTime.isAfter(max)) {
-                max = t.endTime;
+    public void addDependency(Task task, Task dep) {
+        if (task.dependencies.contains(dep)) return;
+        task.dependencies.add(dep);
+        dep.children.add(task);
+        dependencyCount++;
+        structureChanged();
+        if (trackingChanges) {
+            long key = edgeKey(task.id, dep.id);
+            if (!removedDependencies.remove(key)) {
+                addedDependencies.add(key);
+            }
+        }
+    }
+
+    public void removeDependency(Task task, Task dep) {
+        if (!task.dependencies.remove(dep)) return;
+        dep.children.remove(task);
+        dependencyCount--;
+        structureChanged();
+        if (trackingChanges) {
+            long key = edgeKey(task.id, dep.id);
+            if (!addedDependencies.remove(key)) {
+                removedDependencies.add(key);
+            }
+        }
+    }
+
+    /** Makes the task depend on exactly the given task ids; ids not in the project are skipped */
+    public void setDependencies(Task task, Collection<Integer> dependencyIds) {
+        for (Task dep : task.dependencies.toArray(new Task[0])) {
+            if (!dependencyIds.contains(dep.id)) removeDependency(task, dep);
+        }
+        for (int id : dependencyIds) {
+            Task dep = tasksById.get(id);
+            if (dep != null && dep != task) addDependency(task, dep);
+        }
+    }
+
+    public Resource removeResource(String name) {
+        for (Iterator<Resource> it = resources.iterator(); it.hasNext(); ) {
+            Resource r = it.next();
+            if (r.name.equals(name)) {
+                it.remove();
+                r.project = null;
+                version++;
+                if (scheduleEngine != null) scheduleEngine.resourcesChanged();
+                for (Task t : r.allocations.keySet()) {
+                    unindexAllocation(r, t);
+                }
+                if (trackingChanges) {
+                    changedResources.remove(name);
+                    removedResources.add(name);
+                }
+                return r;
             }
         }
-        return max;
+        return null;
+    }
+
+    // called by Resource when one of its allocations is set or removed
+    void allocationAdded(Resource r, Task t, int pct) {
+        indexAllocation(r, t, pct);
+        resourceChanged(r);
+    }
+
+    void allocationRemoved(Resource r, Task t) {
+        unindexAllocation(r, t);
+        resourceChanged(r);
+    }
+
+    private void indexAllocation(Resource r, Task t, int pct) {
+        allocationsByTask.computeIfAbsent(t, k -> new TreeMap<>(RESOURCE_ORDER)).put(r, pct);
+    }
+
+    private void unindexAllocation(Resource r, Task t) {
+        Map<Resource, Integer> team = allocationsByTask.get(t);
+        if (team != null && team.remove(r) != null && team.isEmpty()) {
+            allocationsByTask.remove(t);
+        }
+    }
+
+    /** Resources allocated to the task with their percentages, read-only */
+    public Map<Resource, Integer> getAllocationsForTask(Task task) {
+        Map<Resource, Integer> team = allocationsByTask.get(task);
+        return team == null ? Collections.emptyMap() : Collections.unmodifiableMap(team);
+    }
+
+    // widens the bounds for t, or drops them if t held a bound and moved inwards
+    private void updateBounds(Task t) {
+        if (!boundsValid) return;
+        if (!t.startTime.isAfter(minStart)) {
+            minStart = t.startTime;
+            earliestTask = t;
+        } else if (t == earliestTask) {
+            boundsValid = false;
+        }
+        if (!t.endTime.isBefore(maxEnd)) {
+            maxEnd = t.endTime;
+            latestTask = t;
+        } else if (t == latestTask) {
+            boundsValid = false;
+        }
+    }
+
+    private void ensureBounds() {
+        // the size check catches tasks put straight into tasksById
+        if (boundsValid && boundsTaskCount == tasksById.size()) return;
+        earliestTask = null;
+        latestTask = null;
+        for (Task t : tasksById.values()) {
+            if (earliestTask == null || t.startTime.isBefore(earliestTask.startTime)) earliestTask = t;
+            if (latestTask == null || t.endTime.isAfter(latestTask.endTime)) latestTask = t;
+        }
+        minStart = earliestTask == null ? null : earliestTask.startTime;
+        maxEnd = latestTask == null ? null : latestTask.endTime;
+        boundsValid = earliestTask != null;
+        boundsTaskCount = tasksById.size();
+    }
+
+    // tasks or edges were added or removed
+    private void structureChanged() {
+        version++;
+        modCount++;
+        if (scheduleEngine != null) scheduleEngine.invalidate();
+    }
+
+    /** Record a change to a resource's allocations */
+    public void resourceChanged(Resource r) {
+        version++;
+        if (scheduleEngine != null) scheduleEngine.resourcesChanged();
+        if (trackingChanges) {
+            changedResources.add(r.name);
+        }
+    }
+
+    /** Start recording changes against the current state as the saved baseline */
+    public void startTrackingChanges() {
+        clearTrackedChanges();
+        trackingChanges = true;
+    }
+
+    public void stopTrackingChanges() {
+        clearTrackedChanges();
+        trackingChanges = false;
+    }
+
+    public boolean isTrackingChanges() {
+        return trackingChanges;
+    }
+
+    public boolean hasTrackedChanges() {
+        return !(changedTasks.isEmpty() && removedTasks.isEmpty()
+                && addedDependencies.isEmpty() && removedDependencies.isEmpty()
+                && changedResources.isEmpty() && removedResources.isEmpty());
+    }
+
+    private void clearTrackedChanges() {
+        changedTasks.clear();
+        removedTasks.clear();
+        addedDependencies.clear();
+        removedDependencies.clear();
+        changedResources.clear();
+        removedResources.clear();
+    }
+
+    public Set<Integer> getChangedTaskIds() {
+        return Collections.unmodifiableSet(changedTasks);
+    }
+
+    public Set<Integer> getRemovedTaskIds() {
+        return Collections.unmodifiableSet(removedTasks);
+    }
+
+    public Set<Long> getAddedDependencies() {
+        return Collections.unmodifiableSet(addedDependencies);
+    }
+
+    public Set<Long> getRemovedDependencies() {
+        return Collections.unmodifiableSet(removedDependencies);
+    }
+
+    public Set<String> getChangedResourceNames() {
+        return Collections.unmodifiableSet(changedResources);
+    }
+
+    public Set<String> getRemovedResourceNames() {
+        return Collections.unmodifiableSet(removedResources);
+    }
+
+    // a dependency edge packed as (task id, depends-on task id)
+    static long edgeKey(int taskId, int dependsOnId) {
+        return ((long) taskId << 32) | (dependsOnId & 0xffffffffL);
+    }
+
+    static int edgeTask(long key) {
+        return (int) (key >>> 32);
+    }
+
+    static int edgeDependency(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Index based view of the tasks and dependency edges, rebuilt lazily after
+     * tasks or edges change. Callers must not keep it across modifications.
+     */
+    public TaskGraph graph() {
+        // the size check catches tasks put straight into tasksById
+        if (graph == null || graph.modCount != modCount || graph.size() != tasksById.size()) {
+            graph = TaskGraph.build(this, modCount);
+            topologicalOrder = null;
+        }
+        return graph;
+    }
+
+    /**
+     * Graph indices in dependency order, cached until the next change.
+     * The returned array is shared and must not be modified.
+     *
+     * @throws DependencyCycleException if the dependencies contain a cycle
+     */
+    int[] topologicalOrder() {
+        TaskGraph g = graph();
+        if (topologicalOrder == null) {
+            topologicalOrder = DependencyValidator.topologicalOrder(g);
+        }
+        return topologicalOrder;
+    }
+
+    /** All tasks, each after the tasks it depends on */
+    public List<Task> getTasksInDependencyOrder() {
+        TaskGraph g = graph();
+        List<Task> ordered = new ArrayList<>(g.size());
+        for (int i : topologicalOrder()) {
+            ordered.add(g.task(i));
+        }
+        return ordered;
+    }
+
+    /** Task ids of every dependency cycle, empty when the graph is acyclic */
+    public List<List<Integer>> findDependencyCycles() {
+        return DependencyValidator.findCycles(graph());
+    }
+
+    /**
+     * Time index over all tasks. Built on the first call and updated by
+     * addTask, updateTask, taskChanged and removeTask afterwards.
+     */
+    public TaskIntervalIndex intervalIndex() {
+        // the size check catches tasks put straight into tasksById
+        if (intervalIndex == null || intervalIndex.size() != tasksById.size()) {
+            intervalIndex = new TaskIntervalIndex(tasksById.values());
+        }
+        return intervalIndex;
+    }
+
+    /**
+     * Schedule analyses kept current across single-task edits, created on
+     * first use. Register a listener on it to hear which tasks changed.
+     */
+    public ScheduleEngine scheduleEngine() {
+        if (scheduleEngine == null) {
+            scheduleEngine = new ScheduleEngine(this);
+        }
+        return scheduleEngine;
+    }
+
+    /** Tasks active at any time in [from, to), in start order */
+    public List<Task> tasksActiveBetween(LocalDateTime from, LocalDateTime to) {
+        return intervalIndex().tasksInWindow(from, to);
+    }
+
+    public Task getTaskById(int id) {
+        return tasksById.get(id);
+    }
+
+
+    public LocalDateTime projectStart() {
+        ensureBounds();
+        return minStart;
+    }
+
+    public LocalDateTime projectEnd() {
+        ensureBounds();
+        return maxEnd;
     }
 
     public Duration projectDuration() {
@@ -73,20 +469,31 @@ public class Project {
         return result;
     }
 
+    /**
+     * Earliest/latest dates, floats and the critical path of the current plan.
+     *
+     * @throws DependencyCycleException if the dependencies contain a cycle
+     */
+    public CriticalPathAnalysis criticalPathAnalysis() {
+        return CriticalPathAnalysis.analyze(this);
+    }
+
     public List<String> teamForTask(int taskId) {
         List<String> names = new ArrayList<>();
         Task task = tasksById.get(taskId);
         if (task == null) return names;
 
-        for (Resource r : resources) {
-            if (r.allocations.containsKey(task)) {
-                names.add(r.name + " (" + r.allocations.get(task) + "%)");
-            }
+        for (Map.Entry<Resource, Integer> e : getAllocationsForTask(task).entrySet()) {
+            names.add(e.getKey().name + " (" + e.getValue() + "%)");
         }
         return names;
     }
 
+    /** Effort hours per resource name, cached until the next change (read-only) */
     public Map<String, Double> totalEffortHoursPerResource() {
+        if (effortTotals != null && effortVersion == version) {
+            return effortTotals;
+        }
         Map<String, Double> map = new LinkedHashMap<>();
         for (Resource r : resources) {
             double total = 0.0;
@@ -96,7 +503,60 @@ public class Project {
             }
             map.put(r.name, total);
         }
-        return map;
+        effortTotals = Collections.unmodifiableMap(map);
+        effortVersion = version;
+        return effortTotals;
+    }
+
+    /**
+     * Independent copy of the tasks, edges, resources and allocations, for
+     * analyses run off the EDT: its lazily built caches are its own. Not tracking
+     * changes and without schedule listeners.
+     */
+    public Project snapshot() {
+        Project copy = new Project();
+        copy.setName(name);
+        copy.setProjectId(projectId);
+        Map<Task, Task> copies = new HashMap<>(tasksById.size() * 2);
+        for (Task t : tasksById.values()) {
+            Task c = new Task(t.id, t.title, t.startTime, t.endTime);
+            copies.put(t, c);
+            copy.addTask(c);
+        }
+        for (Task t : tasksById.values()) {
+            Task c = copies.get(t);
+            for (Task dep : t.dependencies) {
+                Task d = copies.get(dep);
+                if (d != null) copy.addDependency(c, d);
+            }
+        }
+        for (Resource r : resources) {
+            Resource copied = new Resource(r.name);
+            for (Map.Entry<Task, Integer> e : r.allocations.entrySet()) {
+                Task c = copies.get(e.getKey());
+                if (c != null) copied.addAllocations(c, e.getValue());
+            }
+            copy.addResource(copied);
+        }
+        return copy;
+    }
+
+    /** Incremented by every change made through this class */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getTaskCount() {
+        return tasksById.size();
+    }
+
+    public int getResourceCount() {
+        return resources.size();
+    }
+
+    /** Number of dependency edges, kept by addDependency, removeDependency and removeTask */
+    public int getDependencyCount() {
+        return dependencyCount;
     }
 
 
@@ -0,0 +1,152 @@
+package com.mycompany.projectplanner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a project streamed by {@link DatabaseRepository#streamProject}: a run
+ * of tasks in TaskId order plus the dependency edges and allocations of those
+ * tasks. Edges may point at tasks of a later chunk. Every chunk carries the
+ * project header and the resource names, which are small.
+ */
+public final class ProjectChunk {
+
+    /** Receives chunks on the loading thread, in TaskId order */
+    public interface Consumer {
+        void accept(ProjectChunk chunk) throws Exception;
+    }
+
+    final int projectId;
+    final String projectName;
+    final List<String> resourceNames;
+    final int totalTasks;
+    final int index;
+    final boolean last;
+
+    final List<Task> tasks;
+    // edge k: task dependencyTasks[k] depends on dependencyTargets[k] (task ids)
+    final int[] dependencyTasks;
+    final int[] dependencyTargets;
+    // allocation k: task id, index into resourceNames, percentage
+    final int[] allocationTasks;
+    final int[] allocationResources;
+    final int[] allocationPercentages;
+
+    ProjectChunk(int projectId, String projectName, List<String> resourceNames, int totalTasks, int index, boolean last,
+                 List<Task> tasks, int[] dependencyTasks, int[] dependencyTargets,
+                 int[] allocationTasks, int[] allocationResources, int[] allocationPercentages) {
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.resourceNames = resourceNames;
+        this.totalTasks = totalTasks;
+        this.index = index;
+        this.last = last;
+        this.tasks = tasks;
+        this.dependencyTasks = dependencyTasks;
+        this.dependencyTargets = dependencyTargets;
+        this.allocationTasks = allocationTasks;
+        this.allocationResources = allocationResources;
+        this.allocationPercentages = allocationPercentages;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    /** Tasks in the whole project, counted before the first chunk */
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+
+    public List<Task> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    public int getDependencyCount() {
+        return dependencyTasks.length;
+    }
+
+    public int getAllocationCount() {
+        return allocationTasks.length;
+    }
+
+    /**
+     * Builds a Project from chunks applied in order. Not thread safe: apply every
+     * chunk on the thread that owns the project (the EDT for the GUI).
+     */
+    public static class Assembler {
+        private Project project;
+        private Resource[] resources;
+        // dependency task id -> tasks waiting for it to arrive
+        private final Map<Integer, List<Task>> waiting = new HashMap<>();
+
+        /** The project so far, or null before the first chunk */
+        public Project getProject() {
+            return project;
+        }
+
+        public Project apply(ProjectChunk chunk) {
+            if (project == null) {
+                project = new Project();
+                project.setName(chunk.projectName);
+                project.setProjectId(chunk.projectId);
+                resources = new Resource[chunk.resourceNames.size()];
+                for (int r = 0; r < resources.length; r++) {
+                    resources[r] = new Resource(chunk.resourceNames.get(r));
+                    project.addResource(resources[r]);
+                }
+            }
+
+            for (Task t : chunk.tasks) {
+                project.addTask(t);
+                List<Task> dependents = waiting.remove(t.id);
+                if (dependents != null) {
+                    for (Task dependent : dependents) project.addDependency(dependent, t);
+                }
+            }
+            for (int k = 0; k < chunk.dependencyTasks.length; k++) {
+                Task task = project.getTaskById(chunk.dependencyTasks[k]);
+                Task dep = project.getTaskById(chunk.dependencyTargets[k]);
+                if (task == null) continue;
+                if (dep != null) {
+                    project.addDependency(task, dep);
+                } else {
+                    waiting.computeIfAbsent(chunk.dependencyTargets[k], id -> new ArrayList<>()).add(task);
+                }
+            }
+            for (int k = 0; k < chunk.allocationTasks.length; k++) {
+                Task task = project.getTaskById(chunk.allocationTasks[k]);
+                if (task != null) {
+                    resources[chunk.allocationResources[k]].addAllocations(task, chunk.allocationPercentages[k]);
+                }
+            }
+            return project;
+        }
+
+        /** Call after the last chunk; edges to tasks that never arrived are dropped */
+        public Project finish() {
+            if (project == null) {
+                throw new IllegalStateException("No chunk was applied");
+            }
+            waiting.clear();
+            DependencyValidator.warnAboutCycles(project);
+            project.startTrackingChanges();
+            return project;
+        }
+    }
+}
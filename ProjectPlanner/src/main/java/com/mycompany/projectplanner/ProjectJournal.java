@@ -0,0 +1,387 @@
+package com.mycompany.projectplanner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only log of single-entity edits kept next to Tasks.txt. One record per
+ * line, tab separated:
+ *
+ * <pre>
+ * T id title start end deps   task added or replaced; deps are comma separated ids
+ * D id                        task deleted
+ * R name taskId:pct ...       resource added or its allocations replaced
+ * X name                      resource deleted
+ * </pre>
+ *
+ * Appends are fsynced every {@code syncBatch} records, or {@code syncIntervalMillis}
+ * after the first unsynced one. Every record sets the final state of its entity,
+ * so replaying a record that is already in the text files changes nothing; a
+ * torn last line left by a crash is dropped. Once the log passes
+ * {@code compactBytes} it is renamed to {@code .compacting} and handed to the
+ * compactor on a background thread while new edits go to a fresh log. A full
+ * save moves both logs to {@code .saving} before writing the snapshot, so edits
+ * appended while it runs land in a fresh log and survive the save.
+ */
+class ProjectJournal implements Closeable {
+
+    static final int DEFAULT_SYNC_BATCH = 64;
+    static final long DEFAULT_SYNC_INTERVAL_MILLIS = 200;
+    static final long DEFAULT_COMPACT_BYTES = 4L * 1024 * 1024;
+
+    /** Folds the rotated log into the text files, then calls {@link #compacted()}. */
+    interface Compactor {
+        void compact(Path rotatedJournal) throws IOException;
+    }
+
+    private final Path path;
+    private final Path compactingPath;
+    private final Path savingPath;
+    private final Compactor compactor;
+    private final int syncBatch;
+    private final long syncIntervalMillis;
+    private final long compactBytes;
+
+    private FileChannel channel;
+    private int unsynced;
+    private ScheduledFuture<?> pendingSync;
+    private boolean compacting;
+    private ScheduledExecutorService background;
+
+    ProjectJournal(Path path, Compactor compactor) {
+        this(path, compactor, DEFAULT_SYNC_BATCH, DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_COMPACT_BYTES);
+    }
+
+    ProjectJournal(Path path, Compactor compactor, int syncBatch, long syncIntervalMillis, long compactBytes) {
+        this.path = path;
+        this.compactingPath = path.resolveSibling(path.getFileName() + ".compacting");
+        this.savingPath = path.resolveSibling(path.getFileName() + ".saving");
+        this.compactor = compactor;
+        this.syncBatch = Math.max(1, syncBatch);
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.compactBytes = compactBytes;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    Path getCompactingPath() {
+        return compactingPath;
+    }
+
+    Path getSavingPath() {
+        return savingPath;
+    }
+
+    // --- records ---
+
+    static String taskRecord(Task task) {
+        StringBuilder sb = new StringBuilder("T\t").append(task.id).append('\t').append(escape(task.title))
+                .append('\t').append(task.startTime.format(Task.Formater))
+                .append('\t').append(task.endTime.format(Task.Formater)).append('\t');
+        for (int i = 0; i < task.dependencies.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(task.dependencies.get(i).id);
+        }
+        return sb.toString();
+    }
+
+    static String deleteTaskRecord(int taskId) {
+        return "D\t" + taskId;
+    }
+
+    static String resourceRecord(Resource resource) {
+        StringBuilder sb = new StringBuilder("R\t").append(escape(resource.getName()));
+        for (Map.Entry<Task, Integer> e : resource.getAllocations().entrySet()) {
+            sb.append('\t').append(e.getKey().id).append(':').append(e.getValue());
+        }
+        return sb.toString();
+    }
+
+    static String deleteResourceRecord(String resourceName) {
+        return "X\t" + escape(resourceName);
+    }
+
+    /** Applies one record; edits to tasks that no longer exist are ignored */
+    static void apply(Project project, String record) {
+        String[] f = record.split("\t", -1);
+        switch (f[0]) {
+            case "T": {
+                Task task = new Task(Integer.parseInt(f[1]), unescape(f[2]), f[3], f[4]);
+                project.updateTask(task);
+                // records written before the dependency field leave the edges as they are
+                if (f.length > 5) {
+                    List<Integer> dependencyIds = new ArrayList<>();
+                    for (String id : f[5].split(",")) {
+                        if (!id.isEmpty()) dependencyIds.add(Integer.parseInt(id));
+                    }
+                    project.setDependencies(task, dependencyIds);
+                }
+                break;
+            }
+            case "D":
+                project.removeTask(Integer.parseInt(f[1]));
+                break;
+            case "R": {
+                String name = unescape(f[1]);
+                Resource resource = null;
+                for (Resource r : project.getResources()) {
+                    if (r.getName().equals(name)) {
+                        resource = r;
+                        break;
+                    }
+                }
+                if (resource == null) {
+                    resource = new Resource(name);
+                    project.addResource(resource);
+                } else {
+                    for (Task t : resource.getAllocations().keySet().toArray(new Task[0])) {
+                        resource.removeAllocation(t);
+                    }
+                }
+                for (int i = 2; i < f.length; i++) {
+                    int colon = f[i].indexOf(':');
+                    Task task = project.getTaskById(Integer.parseInt(f[i].substring(0, colon)));
+                    if (task != null) resource.addAllocations(task, Integer.parseInt(f[i].substring(colon + 1)));
+                }
+                break;
+            }
+            case "X":
+                project.removeResource(unescape(f[1]));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown journal record: " + f[0]);
+        }
+    }
+
+    /** Replays every complete record of the file onto the project */
+    static void replay(Path file, Project project) throws IOException {
+        if (!Files.exists(file)) return;
+        byte[] bytes = Files.readAllBytes(file);
+        int lineStart = 0;
+        int lineNumber = 1;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') continue;
+            String record = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+            try {
+                if (!record.isEmpty()) apply(project, record);
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt journal record at " + file.getFileName() + ":" + lineNumber, e);
+            }
+            lineStart = i + 1;
+            lineNumber++;
+        }
+    }
+
+    // --- appending ---
+
+    synchronized void append(String record) throws IOException {
+        FileChannel out = channel();
+        ByteBuffer buf = StandardCharsets.UTF_8.encode(record + "\n");
+        while (buf.hasRemaining()) out.write(buf);
+        if (++unsynced >= syncBatch) {
+            sync();
+        } else if (pendingSync == null) {
+            pendingSync = background().schedule(this::syncQuietly, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        if (!compacting && out.size() >= compactBytes) {
+            rotate();
+        }
+    }
+
+    /** Forces every appended record to disk */
+    synchronized void sync() throws IOException {
+        if (pendingSync != null) {
+            pendingSync.cancel(false);
+            pendingSync = null;
+        }
+        if (channel != null && unsynced > 0) {
+            channel.force(false);
+        }
+        unsynced = 0;
+    }
+
+    /**
+     * Moves every record logged so far to {@code .saving} ahead of a full save;
+     * later appends start a fresh log. A log left by a failed save is kept and
+     * extended, oldest records first.
+     */
+    synchronized void beginSave() throws IOException {
+        closeChannel();
+        moveRecords(compactingPath, savingPath);
+        moveRecords(path, savingPath);
+    }
+
+    /** The text files now hold everything moved by {@link #beginSave()} */
+    synchronized void saved() throws IOException {
+        Files.deleteIfExists(savingPath);
+    }
+
+    /** Starts folding a log left over from an interrupted compaction */
+    synchronized void recover() {
+        if (!compacting && Files.exists(compactingPath)) {
+            compacting = true;
+            background().execute(this::runCompaction);
+        }
+    }
+
+    synchronized boolean isCompacting() {
+        return compacting;
+    }
+
+    // called by the compactor once the rotated log is in the text files
+    synchronized void compacted() throws IOException {
+        Files.deleteIfExists(compactingPath);
+    }
+
+    private void rotate() throws IOException {
+        if (Files.exists(compactingPath)) {
+            // an earlier compaction did not finish; fold that one first
+            recover();
+            return;
+        }
+        sync();
+        closeChannel();
+        Files.move(path, compactingPath, StandardCopyOption.ATOMIC_MOVE);
+        compacting = true;
+        background().execute(this::runCompaction);
+    }
+
+    // appends the complete records of from to the end of to and deletes from
+    private static void moveRecords(Path from, Path to) throws IOException {
+        if (!Files.exists(from)) return;
+        if (!Files.exists(to)) {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+            return;
+        }
+        byte[] bytes = Files.readAllBytes(from);
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n') end--;
+        try (FileChannel out = FileChannel.open(to, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            dropTornTail(out);
+            out.position(out.size());
+            ByteBuffer buf = ByteBuffer.wrap(bytes, 0, end);
+            while (buf.hasRemaining()) out.write(buf);
+            out.force(false);
+        }
+        Files.delete(from);
+    }
+
+    private void runCompaction() {
+        try {
+            compactor.compact(compactingPath);
+        } catch (IOException | RuntimeException e) {
+            // the rotated log stays on disk and is replayed on load; retried on the next rotation
+            System.err.println("Journal compaction failed: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                compacting = false;
+            }
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+            dropTornTail(channel);
+            channel.position(channel.size());
+        }
+        return channel;
+    }
+
+    // a crash can leave half a record; cut it so the next append starts a fresh line
+    private static void dropTornTail(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size == 0) return;
+        ByteBuffer one = ByteBuffer.allocate(1);
+        long end = size;
+        while (end > 0) {
+            one.clear();
+            channel.read(one, end - 1);
+            if (one.get(0) == '\n') break;
+            end--;
+        }
+        if (end < size) channel.truncate(end);
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Journal sync failed: " + e.getMessage());
+        }
+    }
+
+    private ScheduledExecutorService background() {
+        if (background == null) {
+            background = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "project-journal");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return background;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            sync();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /** Syncs, waits for a running compaction and stops the background thread */
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            closeChannel();
+            executor = background;
+            background = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static String escape(String s) {
+        if (s.indexOf('\\') < 0 && s.indexOf('\t') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+        return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String s) {
+        if (s.indexOf('\\') < 0) return s;
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < s.length()) {
+                char n = s.charAt(++i);
+                sb.append(n == 't' ? '\t' : n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
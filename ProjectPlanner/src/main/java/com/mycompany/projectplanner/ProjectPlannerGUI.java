@@ -1,17 +1,23 @@
 package com.mycompany.projectplanner;
 
 import javax.swing.*;
-import javax.swing.table.AbstractTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
+import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
 
 public class ProjectPlannerGUI extends JFrame {
 
@@ -20,21 +26,34 @@ public class ProjectPlannerGUI extends JFrame {
     private final JTable taskTable;
     private ProjectTableModel tableModel;
     private IDataRepository currentRepository;
+    // the only repository over Tasks.txt/Resources.txt, so one journal writes their log
+    private final FileDataRepository fileRepository = new FileDataRepository();
     private JComboBox<String> dataSourceCombo;
-    private JLabel statusLabel;
+    private final BackgroundTaskBar statusBar = new BackgroundTaskBar();
 
     private static final String DEFAULT_PROJECT_NAME = "New Project";
     private static final String SOURCE_FILE = "File System";
     private static final String SOURCE_DATABASE = "Database";
+    private static final String SOURCE_SNAPSHOT = "Binary Snapshot";
+
+    // tasks per streamed database chunk, and chunks allowed to queue up for the EDT
+    private static final int LOAD_CHUNK_SIZE = 5000;
+    private static final int LOAD_WINDOW_CHUNKS = 4;
 
     public ProjectPlannerGUI() {
         setTitle("Project Planning Application - Layered Architecture");
         setDefaultCloseOperation(EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeFileRepository();
+            }
+        });
         setSize(1300, 750);
         setLocationRelativeTo(null);
 
         currentProject = new Project();
-        currentRepository = new FileDataRepository();
+        currentRepository = fileRepository;
         tableModel = new ProjectTableModel(currentProject);
         taskTable = new JTable(tableModel);
 
@@ -59,44 +78,41 @@ public class ProjectPlannerGUI extends JFrame {
     }
 
     private void initializeData() {
-        try {
-            // Load from file
-            FileDataRepository fileRepo = new FileDataRepository();
-            if (fileRepo.isAvailable()) {
-                currentProject = fileRepo.loadProject();
-                currentProject.setName("Initial Project");
-                
-                // Save to database
-                DatabaseRepository dbRepo = new DatabaseRepository();
-                if (dbRepo.isAvailable()) {
-                    dbRepo.saveProject(currentProject);
-                    updateStatus("Data loaded from files and saved to database successfully!");
-                } else {
-                    updateStatus("Warning: Database not available. Using file system only.");
-                }
-                
-                refreshTable();
-            } else {
-                updateStatus("No default files found. Starting with empty project.");
-            }
-        } catch (Exception e) {
-            updateStatus("Error during initialization: " + e.getMessage());
-            e.printStackTrace();
+        FileDataRepository fileRepo = fileRepository;
+        if (!fileRepo.isAvailable()) {
+            updateStatus("No default files found. Starting with empty project.");
+            return;
         }
+        // Load from file, show it, then save to database
+        statusBar.run("Loading initial project", progress -> {
+            Project project = fileRepo.loadProject();
+            project.setName("Initial Project");
+            return project;
+        }, project -> {
+            currentProject = project;
+            refreshTable();
+            statusBar.run("Saving initial project to database", progress -> {
+                DatabaseRepository dbRepo = new DatabaseRepository();
+                if (!dbRepo.isAvailable()) return false;
+                dbRepo.saveProject(project);
+                return true;
+            }, saved -> updateStatus(saved
+                ? "Data loaded from files and saved to database successfully!"
+                : "Warning: Database not available. Using file system only."), this::showInitializationError);
+        }, this::showInitializationError);
+    }
+
+    private void showInitializationError(Exception e) {
+        updateStatus("Error during initialization: " + e.getMessage());
+        e.printStackTrace();
     }
 
     private JPanel createStatusPanel() {
-        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        panel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
-        statusLabel = new JLabel("Ready");
-        statusLabel.setForeground(new Color(0, 100, 0));
-        panel.add(new JLabel("Status: "));
-        panel.add(statusLabel);
-        return panel;
+        return statusBar;
     }
 
     private void updateStatus(String message) {
-        statusLabel.setText(message);
+        statusBar.setStatus(message);
         System.out.println("Status: " + message);
     }
 
@@ -132,7 +148,7 @@ public class ProjectPlannerGUI extends JFrame {
         centerPanel.add(projectTitleField);
         
         centerPanel.add(new JLabel("   Data Source:"));
-        dataSourceCombo = new JComboBox<>(new String[]{SOURCE_FILE, SOURCE_DATABASE});
+        dataSourceCombo = new JComboBox<>(new String[]{SOURCE_FILE, SOURCE_DATABASE, SOURCE_SNAPSHOT});
         dataSourceCombo.addActionListener(e -> switchDataSource());
         centerPanel.add(dataSourceCombo);
 
@@ -156,6 +172,12 @@ public class ProjectPlannerGUI extends JFrame {
                 actionAnalyze();
             }
         }));
+        rightPanel.add(new JButton(new AbstractAction("Level Resources") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                actionLevelResources();
+            }
+        }));
         rightPanel.add(new JButton(new AbstractAction("Visualize") {
             @Override
             public void actionPerformed(ActionEvent e) {
@@ -163,6 +185,11 @@ public class ProjectPlannerGUI extends JFrame {
             }
         }));
 
+        // no second load or save can start while one is running
+        statusBar.disableWhileBusy(leftPanel.getComponents());
+        statusBar.disableWhileBusy(rightPanel.getComponents());
+        statusBar.disableWhileBusy(dataSourceCombo);
+
         mainPanel.add(leftPanel, BorderLayout.WEST);
         mainPanel.add(centerPanel, BorderLayout.CENTER);
         mainPanel.add(rightPanel, BorderLayout.EAST);
@@ -172,6 +199,7 @@ public class ProjectPlannerGUI extends JFrame {
 
     private void switchDataSource() {
         String selectedSource = (String) dataSourceCombo.getSelectedItem();
+        IDataRepository previous = currentRepository;
         if (SOURCE_DATABASE.equals(selectedSource)) {
             currentRepository = new DatabaseRepository();
             if (!currentRepository.isAvailable()) {
@@ -179,14 +207,37 @@ public class ProjectPlannerGUI extends JFrame {
                     "Database connection failed! Please check database configuration.\nFalling back to file system.",
                     "Database Error", JOptionPane.ERROR_MESSAGE);
                 dataSourceCombo.setSelectedItem(SOURCE_FILE);
-                currentRepository = new FileDataRepository();
+                currentRepository = fileRepository;
             } else {
-                updateStatus("Switched to Database storage");
+                String poolInfo = "";
+                try {
+                    poolInfo = " (pool: " + ((DatabaseRepository) currentRepository).getPoolMetrics() + ")";
+                } catch (Exception e) {
+                    // metrics are informational only
+                }
+                updateStatus("Switched to Database storage" + poolInfo);
             }
+        } else if (SOURCE_SNAPSHOT.equals(selectedSource)) {
+            currentRepository = new BinarySnapshotRepository();
+            updateStatus(currentRepository.isAvailable()
+                ? "Switched to Binary Snapshot storage"
+                : "Switched to Binary Snapshot storage (no snapshot yet, use Save to create one)");
         } else {
-            currentRepository = new FileDataRepository();
+            currentRepository = fileRepository;
             updateStatus("Switched to File System storage");
         }
+        if (previous == fileRepository && currentRepository != fileRepository) {
+            closeFileRepository();
+        }
+    }
+
+    // syncs the journal and stops its compaction thread; it reopens on the next edit
+    private void closeFileRepository() {
+        try {
+            fileRepository.close();
+        } catch (IOException e) {
+            updateStatus("Error closing file journal: " + e.getMessage());
+        }
     }
 
     private void actionNewProject() {
@@ -206,37 +257,43 @@ public class ProjectPlannerGUI extends JFrame {
             return;
         }
 
-        try {
-            String projectName = projectTitleField.getText().trim();
-            if (projectName.isEmpty()) {
-                projectName = DEFAULT_PROJECT_NAME;
-            }
-            currentProject.setName(projectName);
-            
-            currentRepository.saveProject(currentProject);
-            updateStatus("Project saved successfully to " + currentRepository.getRepositoryType());
-            JOptionPane.showMessageDialog(this, 
-                "Project '" + projectName + "' saved successfully to " + currentRepository.getRepositoryType(),
+        String projectName = projectTitleField.getText().trim();
+        if (projectName.isEmpty()) {
+            projectName = DEFAULT_PROJECT_NAME;
+        }
+        currentProject.setName(projectName);
+
+        final String savedName = projectName;
+        final Project project = currentProject;
+        final IDataRepository repository = currentRepository;
+        statusBar.run("Saving project to " + repository.getRepositoryType(), progress -> {
+            repository.saveProject(project);
+            return null;
+        }, none -> {
+            updateStatus("Project saved successfully to " + repository.getRepositoryType());
+            JOptionPane.showMessageDialog(this,
+                "Project '" + savedName + "' saved successfully to " + repository.getRepositoryType(),
                 "Save Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception e) {
+        }, e -> {
             updateStatus("Error saving project: " + e.getMessage());
-            JOptionPane.showMessageDialog(this, "Error saving project: " + e.getMessage(), 
+            JOptionPane.showMessageDialog(this, "Error saving project: " + e.getMessage(),
                 "Error", JOptionPane.ERROR_MESSAGE);
             e.printStackTrace();
-        }
+        });
     }
 
     private void actionLoadProject() {
-        try {
-            if (currentRepository instanceof DatabaseRepository) {
-                // Show project selection dialog
-                List<ProjectInfo> projects = currentRepository.getAllProjects();
+        final IDataRepository repository = currentRepository;
+        if (repository instanceof DatabaseRepository) {
+            statusBar.run("Listing projects", progress -> repository.getAllProjects(), projects -> {
                 if (projects.isEmpty()) {
-                    JOptionPane.showMessageDialog(this, "No projects found in database!", 
+                    updateStatus("Ready");
+                    JOptionPane.showMessageDialog(this, "No projects found in database!",
                         "Info", JOptionPane.INFORMATION_MESSAGE);
                     return;
                 }
-                
+
+                // Show project selection dialog
                 ProjectInfo selected = (ProjectInfo) JOptionPane.showInputDialog(
                     this,
                     "Select a project to load:",
@@ -246,26 +303,80 @@ public class ProjectPlannerGUI extends JFrame {
                     projects.toArray(),
                     projects.get(0)
                 );
-                
-                if (selected != null) {
-                    currentProject = currentRepository.loadProject(selected.projectId);
+
+                if (selected == null) {
+                    updateStatus("Ready");
+                    return;
+                }
+                streamFromDatabase((DatabaseRepository) repository, selected);
+            }, this::showLoadError);
+        } else {
+            // File or snapshot repository
+            statusBar.run("Loading project from " + repository.getRepositoryType(), progress -> repository.loadProject(), project -> {
+                currentProject = project;
+                if (repository instanceof BinarySnapshotRepository) {
                     projectTitleField.setText(currentProject.getName());
-                    refreshTable();
-                    updateStatus("Project loaded from database: " + currentProject.getName());
+                } else {
+                    projectTitleField.setText("Loaded from Files");
                 }
-            } else {
-                // File repository
-                currentProject = currentRepository.loadProject();
-                projectTitleField.setText("Loaded from Files");
                 refreshTable();
-                updateStatus("Project loaded from file system");
-            }
-        } catch (Exception e) {
-            updateStatus("Error loading project: " + e.getMessage());
-            JOptionPane.showMessageDialog(this, "Error loading project: " + e.getMessage(), 
-                "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+                updateStatus("Project loaded from " + repository.getRepositoryType());
+            }, this::showLoadError);
+        }
+    }
+
+    // the table fills in chunk by chunk; at most LOAD_WINDOW_CHUNKS chunks wait for the EDT.
+    // The partial project is only shown: currentProject, which Save and Edit use, stays
+    // the previous project until the load has finished, and comes back on cancel or error.
+    private void streamFromDatabase(DatabaseRepository repository, ProjectInfo selected) {
+        ProjectChunk.Assembler assembler = new ProjectChunk.Assembler();
+        Semaphore window = new Semaphore(LOAD_WINDOW_CHUNKS);
+        String previousTitle = projectTitleField.getText();
+        Runnable restore = () -> {
+            projectTitleField.setText(previousTitle);
+            refreshTable();
+        };
+        statusBar.run("Loading project " + selected, progress -> {
+            repository.streamProject(selected.projectId, LOAD_CHUNK_SIZE, chunk -> {
+                window.acquire();
+                SwingUtilities.invokeLater(() -> {
+                    try {
+                        showChunk(assembler, chunk);
+                    } finally {
+                        window.release();
+                    }
+                });
+                if (chunk.getTotalTasks() > 0) {
+                    progress.update((int) Math.min(100L, (chunk.getIndex() + 1L) * LOAD_CHUNK_SIZE * 100 / chunk.getTotalTasks()));
+                }
+            });
+            return assembler;
+        }, loaded -> {
+            // runs after every chunk queued above has been applied
+            // the table already shows this project
+            currentProject = loaded.finish();
+            updateStatus("Project loaded from database: " + currentProject.getName());
+        }, e -> {
+            restore.run();
+            showLoadError(e);
+        }, restore);
+    }
+
+    private void showChunk(ProjectChunk.Assembler assembler, ProjectChunk chunk) {
+        boolean first = assembler.getProject() == null;
+        Project project = assembler.apply(chunk);
+        if (first) {
+            projectTitleField.setText(project.getName());
+            showInTable(project);
         }
+        updateStatus("Loading project " + project.getName() + ": " + project.getTaskCount() + " of " + chunk.getTotalTasks() + " tasks");
+    }
+
+    private void showLoadError(Exception e) {
+        updateStatus("Error loading project: " + e.getMessage());
+        JOptionPane.showMessageDialog(this, "Error loading project: " + e.getMessage(),
+            "Error", JOptionPane.ERROR_MESSAGE);
+        e.printStackTrace();
     }
 
     private void actionUploadFiles() {
@@ -276,37 +387,39 @@ public class ProjectPlannerGUI extends JFrame {
 
         if (result == JFileChooser.APPROVE_OPTION) {
             File selectedFile = fileChooser.getSelectedFile();
-            try {
-                File tasksFile = selectedFile;
-                File resourcesFile = new File(selectedFile.getParent(), "Resources.txt");
+            File tasksFile = selectedFile;
+            File resourcesFile = new File(selectedFile.getParent(), "Resources.txt");
 
-                if (!tasksFile.exists() || !resourcesFile.exists()) {
-                    JOptionPane.showMessageDialog(this,
-                        "Both Tasks.txt and Resources.txt must be in the same folder!",
-                        "File Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
+            if (!tasksFile.exists() || !resourcesFile.exists()) {
+                JOptionPane.showMessageDialog(this,
+                    "Both Tasks.txt and Resources.txt must be in the same folder!",
+                    "File Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
+            statusBar.run("Reading " + tasksFile.getName(), progress -> {
                 Project tempProject = new Project();
                 Map<Integer, List<Integer>> dependencyMap = FileUtilty.parseTasksFile(tasksFile, tempProject);
+                progress.update(60);
                 Map<Resource, Map<Integer, Integer>> resourceAllocTemp = FileUtilty.parseResourcesFile(resourcesFile);
+                progress.update(80);
                 FileUtilty.resolveProjectData(tempProject, dependencyMap, resourceAllocTemp);
-
-                currentProject = tempProject;
-                currentProject.setName(selectedFile.getParentFile().getName());
+                tempProject.setName(selectedFile.getParentFile().getName());
+                return tempProject;
+            }, project -> {
+                currentProject = project;
                 projectTitleField.setText(currentProject.getName());
                 refreshTable();
-                
+
                 updateStatus("Files uploaded successfully");
-                JOptionPane.showMessageDialog(this, "Files loaded successfully! Click 'Save' to persist to " + 
+                JOptionPane.showMessageDialog(this, "Files loaded successfully! Click 'Save' to persist to " +
                     currentRepository.getRepositoryType(), "Upload Success", JOptionPane.INFORMATION_MESSAGE);
-
-            } catch (Exception e) {
+            }, e -> {
                 updateStatus("Error uploading files: " + e.getMessage());
-                JOptionPane.showMessageDialog(this, "Error reading files: " + e.getMessage(), 
+                JOptionPane.showMessageDialog(this, "Error reading files: " + e.getMessage(),
                     "File Error", JOptionPane.ERROR_MESSAGE);
                 e.printStackTrace();
-            }
+            });
         }
     }
 
@@ -316,8 +429,8 @@ public class ProjectPlannerGUI extends JFrame {
                 "Warning", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        // the table model follows the edits itself
         new EditDeleteDialog(this, currentProject, currentRepository).setVisible(true);
-        refreshTable();
     }
 
     private void actionAnalyze() {
@@ -329,6 +442,47 @@ public class ProjectPlannerGUI extends JFrame {
         new AnalysisDialog(this, currentProject).setVisible(true);
     }
 
+    private void actionLevelResources() {
+        if (currentProject.tasksById.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please load data before leveling resources.",
+                "Warning", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        // level a copy in the background, as the analyses do; the live project stays on the EDT
+        Project snapshot = currentProject.snapshot();
+        statusBar.run("Leveling resources", progress -> ResourceLeveler.level(snapshot), this::offerLeveledSchedule, e -> {
+            updateStatus("Leveling failed: " + e.getMessage());
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Leveling Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private void offerLeveledSchedule(ResourceLeveler.Result result) {
+        List<ResourceLeveler.TaskShift> shifts = result.getShifts();
+        if (shifts.isEmpty()) {
+            updateStatus("No resource is over-allocated, schedule unchanged.");
+            return;
+        }
+
+        final int maxListed = 500;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d task(s) would move to keep every resource at or below 100%%:\n", shifts.size()));
+        for (int i = 0; i < shifts.size() && i < maxListed; i++) sb.append(shifts.get(i)).append("\n");
+        if (shifts.size() > maxListed) sb.append(String.format("... and %d more\n", shifts.size() - maxListed));
+        JTextArea diffArea = new JTextArea(sb.toString(), 20, 70);
+        diffArea.setEditable(false);
+        diffArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        int choice = JOptionPane.showConfirmDialog(this, new JScrollPane(diffArea),
+            "Apply Leveled Schedule?", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice == JOptionPane.OK_OPTION) {
+            currentProject = result.getProposedProject();
+            refreshTable();
+            updateStatus("Leveled schedule applied (" + shifts.size() + " tasks moved). Save to keep it.");
+        } else {
+            updateStatus("Leveled schedule discarded.");
+        }
+    }
+
     private void actionVisualize() {
         if (currentProject.tasksById.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please load data before visualization.", 
@@ -339,63 +493,18 @@ public class ProjectPlannerGUI extends JFrame {
     }
 
     private void refreshTable() {
-        tableModel = new ProjectTableModel(currentProject);
+        showInTable(currentProject);
+    }
+
+    private void showInTable(Project project) {
+        if (tableModel != null) tableModel.detach();
+        tableModel = new ProjectTableModel(project);
         taskTable.setModel(tableModel);
         tableModel.fireTableDataChanged();
     }
 
     // Inner classes from original code
 
-    private class ProjectTableModel extends AbstractTableModel {
-        private final Project project;
-        private final List<Task> taskList;
-        private final String[] columnNames = {"Id", "Task", "Start", "End", "Dependencies", "Resources"};
-
-        public ProjectTableModel(Project project) {
-            this.project = project;
-            this.taskList = project.tasksById.values().stream().collect(Collectors.toList());
-        }
-
-        @Override
-        public int getRowCount() {
-            return taskList.size();
-        }
-
-        @Override
-        public int getColumnCount() {
-            return columnNames.length;
-        }
-
-        @Override
-        public String getColumnName(int columnIndex) {
-            return columnNames[columnIndex];
-        }
-
-        @Override
-        public Object getValueAt(int rowIndex, int columnIndex) {
-            Task task = taskList.get(rowIndex);
-            switch (columnIndex) {
-                case 0: return task.id;
-                case 1: return task.title;
-                case 2: return task.startTime.format(Task.Formater);
-                case 3: return task.endTime.format(Task.Formater);
-                case 4:
-                    return task.dependencies.stream()
-                            .map(d -> String.valueOf(d.id))
-                            .collect(Collectors.joining(", "));
-                case 5:
-                    return project.teamForTask(task.id).stream()
-                            .collect(Collectors.joining(", "));
-                default: return "";
-            }
-        }
-
-        @Override
-        public boolean isCellEditable(int rowIndex, int columnIndex) {
-            return false;
-        }
-    }
-
     private class EditDeleteDialog extends JDialog {
         private Project project;
         private IDataRepository repository;
@@ -441,13 +550,8 @@ public class ProjectPlannerGUI extends JFrame {
             deleteButton.addActionListener(e -> performDelete());
             buttonPanel.add(deleteButton);
 
-            updateButton = new JButton("Update (Reload Required)");
-            updateButton.addActionListener(e -> {
-                JOptionPane.showMessageDialog(this, 
-                    "For updates, please use file editing or direct database modification.\n" +
-                    "Then reload the project.", 
-                    "Info", JOptionPane.INFORMATION_MESSAGE);
-            });
+            updateButton = new JButton("Update");
+            updateButton.addActionListener(e -> performUpdate());
             buttonPanel.add(updateButton);
 
             JButton closeButton = new JButton("Close");
@@ -476,6 +580,52 @@ public class ProjectPlannerGUI extends JFrame {
             }
         }
 
+        private void performUpdate() {
+            String type = (String) entityTypeCombo.getSelectedItem();
+            if (!"Task".equals(type)) {
+                JOptionPane.showMessageDialog(this,
+                    "For resource updates, please use file editing or direct database modification.\n" +
+                    "Then reload the project.",
+                    "Info", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            if (entityCombo.getSelectedItem() == null) {
+                JOptionPane.showMessageDialog(this, "Please select a task to update!");
+                return;
+            }
+
+            String selected = (String) entityCombo.getSelectedItem();
+            int taskId = Integer.parseInt(selected.split(":")[0].replace("Task ", "").trim());
+            Task task = project.getTaskById(taskId);
+            if (task == null) return;
+
+            String start = JOptionPane.showInputDialog(this, "Start (yyyyMMdd+HHmm):", task.startTime.format(Task.Formater));
+            if (start == null) return;
+            String end = JOptionPane.showInputDialog(this, "End (yyyyMMdd+HHmm):", task.endTime.format(Task.Formater));
+            if (end == null) return;
+
+            try {
+                Task updated = new Task(task.id, task.title, start, end);
+                // a date edit keeps the task's dependencies, which the repository stores with it
+                updated.dependencies = new ArrayList<>(task.dependencies);
+                if (updated.endTime.isBefore(updated.startTime)) {
+                    JOptionPane.showMessageDialog(this, "End must not be before start!", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                repository.updateTask(updated, project.getProjectId());
+                // the schedule engine tells the table which rows to repaint
+                project.updateTask(updated);
+                updateStatus("Task " + task.id + " updated successfully");
+                updateEntityList();
+            } catch (DateTimeParseException e) {
+                JOptionPane.showMessageDialog(this, "Invalid date: " + e.getParsedString(), "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(this, "Error updating task: " + e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                e.printStackTrace();
+            }
+        }
+
         private void performDelete() {
             if (entityCombo.getSelectedItem() == null) {
                 JOptionPane.showMessageDialog(this, "Please select an item to delete!");
@@ -495,19 +645,18 @@ public class ProjectPlannerGUI extends JFrame {
                 if ("Task".equals(type)) {
                     int taskId = Integer.parseInt(selected.split(":")[0].replace("Task ", "").trim());
                     repository.deleteTask(taskId, project.getProjectId());
-                    project.tasksById.remove(taskId);
+                    project.removeTask(taskId);
                     updateStatus("Task deleted successfully");
                 } else {
                     String resourceName = selected.replace("Resource: ", "");
                     repository.deleteResource(resourceName, project.getProjectId());
-                    project.resources.removeIf(r -> r.getName().equals(resourceName));
+                    project.removeResource(resourceName);
                     updateStatus("Resource deleted successfully");
                 }
 
                 JOptionPane.showMessageDialog(this, "Item deleted successfully!");
                 updateEntityList();
-                refreshTable();
-                
+
             } catch (Exception e) {
                 JOptionPane.showMessageDialog(this, "Error deleting item: " + e.getMessage(), 
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -522,6 +671,10 @@ public class ProjectPlannerGUI extends JFrame {
         private final ButtonGroup analysisGroup;
         private final JRadioButton taskTeamRadio;
         private final JTextField taskIdField;
+        private final JRadioButton criticalPathRadio;
+        private final JRadioButton doubleBookingRadio;
+        private final JRadioButton overAllocationRadio;
+        private final BackgroundTaskBar analysisBar = new BackgroundTaskBar();
 
         public AnalysisDialog(JFrame parent, Project project) {
             super(parent, "Project Analysis Options", true);
@@ -538,16 +691,24 @@ public class ProjectPlannerGUI extends JFrame {
 
             JRadioButton completionRadio = new JRadioButton("Project completion time and duration", true);
             JRadioButton overlapRadio = new JRadioButton("Overlapping tasks with dependencies");
+            doubleBookingRadio = new JRadioButton("Double-booked resources");
+            overAllocationRadio = new JRadioButton("Over-allocated resources (above 100%)");
             taskTeamRadio = new JRadioButton("Resources and teams for Task ID:");
             JRadioButton effortRadio = new JRadioButton("Effort breakdown: Resources-wise");
+            criticalPathRadio = new JRadioButton("Critical path (CPM)");
 
             analysisGroup.add(completionRadio);
             analysisGroup.add(overlapRadio);
+            analysisGroup.add(doubleBookingRadio);
+            analysisGroup.add(overAllocationRadio);
             analysisGroup.add(taskTeamRadio);
             analysisGroup.add(effortRadio);
+            analysisGroup.add(criticalPathRadio);
 
             optionsPanel.add(completionRadio);
             optionsPanel.add(overlapRadio);
+            optionsPanel.add(doubleBookingRadio);
+            optionsPanel.add(overAllocationRadio);
 
             taskIdField = new JTextField(5);
             taskIdField.setMaximumSize(new Dimension(80, 25));
@@ -558,10 +719,12 @@ public class ProjectPlannerGUI extends JFrame {
             optionsPanel.add(taskTeamPanel);
 
             optionsPanel.add(effortRadio);
+            optionsPanel.add(criticalPathRadio);
             optionsPanel.add(Box.createVerticalStrut(20));
 
             JButton runButton = new JButton("Run Analysis");
             runButton.addActionListener(e -> runAnalysis());
+            analysisBar.disableWhileBusy(runButton);
             JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
             buttonPanel.add(runButton);
             optionsPanel.add(buttonPanel);
@@ -574,25 +737,52 @@ public class ProjectPlannerGUI extends JFrame {
             JScrollPane scrollPane = new JScrollPane(resultArea);
             scrollPane.setBorder(BorderFactory.createTitledBorder("Analysis Results"));
             add(scrollPane, BorderLayout.CENTER);
+            add(analysisBar, BorderLayout.SOUTH);
+            // closing the dialog abandons a running analysis
+            addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    analysisBar.cancel();
+                }
+            });
 
             runAnalysis();
         }
 
+        // the selection is read and the project copied here on the EDT; the report is built
+        // in the background from the copy, so the worker never fills the caches of the
+        // project that the table and the chart read while painting
         private void runAnalysis() {
-            String result = "Error: No analysis type selected.";
+            if (analysisBar.isBusy()) return;
+            Project snapshot = project.snapshot();
+            Callable<String> analysis = () -> "Error: No analysis type selected.";
 
             if (getRadioButtonText("Project completion time and duration").isSelected()) {
-                result = getProjectCompletionTime();
+                analysis = () -> getProjectCompletionTime(snapshot);
             } else if (getRadioButtonText("Overlapping tasks with dependencies").isSelected()) {
-                result = getOverlappingTasks();
+                analysis = () -> getOverlappingTasks(snapshot);
+            } else if (doubleBookingRadio.isSelected()) {
+                analysis = () -> getDoubleBookings(snapshot);
+            } else if (overAllocationRadio.isSelected()) {
+                analysis = () -> getOverAllocations(snapshot);
             } else if (taskTeamRadio.isSelected()) {
-                result = getTeamForTask();
+                String taskIdStr = taskIdField.getText().trim();
+                analysis = () -> getTeamForTask(snapshot, taskIdStr);
+            } else if (criticalPathRadio.isSelected()) {
+                analysis = () -> getCriticalPath(snapshot);
             } else if (getRadioButtonText("Effort breakdown: Resource-wise").isSelected()) {
-                result = getEffortBreakdown();
+                analysis = () -> getEffortBreakdown(snapshot);
             }
 
-            resultArea.setText(result);
-            resultArea.setCaretPosition(0);
+            final Callable<String> selected = analysis;
+            analysisBar.run("Running analysis", progress -> selected.call(), result -> {
+                analysisBar.setStatus("Done");
+                resultArea.setText(result);
+                resultArea.setCaretPosition(0);
+            }, e -> {
+                analysisBar.setStatus("Analysis failed");
+                resultArea.setText("Analysis failed: " + e.getMessage());
+            });
         }
 
         private JRadioButton getRadioButtonText(String text) {
@@ -604,7 +794,7 @@ public class ProjectPlannerGUI extends JFrame {
             return null;
         }
 
-        private String getProjectCompletionTime() {
+        private String getProjectCompletionTime(Project project) {
             LocalDateTime start = project.projectStart();
             LocalDateTime end = project.projectEnd();
             Duration duration = project.projectDuration();
@@ -622,7 +812,7 @@ public class ProjectPlannerGUI extends JFrame {
             return sb.toString();
         }
 
-        private String getOverlappingTasks() {
+        private String getOverlappingTasks(Project project) {
             List<String> overlaps = project.findOverlappingDependencyPairs();
             StringBuilder sb = new StringBuilder();
             sb.append("--- Overlapping Tasks (with dependencies) ---\n");
@@ -631,8 +821,50 @@ public class ProjectPlannerGUI extends JFrame {
             return sb.toString();
         }
 
-        private String getTeamForTask() {
-            String taskIdStr = taskIdField.getText().trim();
+        private String getDoubleBookings(Project project) {
+            final int maxListed = 500;
+            StringBuilder sb = new StringBuilder();
+            sb.append("--- Double-Booked Resources (overlapping allocated tasks) ---\n");
+            long total = OverlapSweep.findResourceConflicts(project, new OverlapSweep.ResourceConflictListener() {
+                private int listed = 0;
+
+                @Override
+                public void conflict(Resource resource, Task first, Task second) {
+                    if (listed++ < maxListed) {
+                        sb.append(String.format("- %s: Task %d overlaps with Task %d\n", resource.getName(), first.id, second.id));
+                    }
+                }
+            });
+            if (total == 0) sb.append("No resource is allocated to overlapping tasks.\n");
+            else if (total > maxListed) sb.append(String.format("... and %d more\n", total - maxListed));
+            return sb.toString();
+        }
+
+        private String getOverAllocations(Project project) {
+            final int maxListed = 500;
+            StringBuilder sb = new StringBuilder();
+            sb.append("--- Weekly Peak Load Above 100% ---\n");
+            ResourceLoadProfile.forEachBucketRun(project, ResourceLoadProfile.Bucket.WEEK, (resource, bucketStart, count, load) -> {
+                if (load > 100) {
+                    sb.append(String.format("- %s: %d week(s) from %s at %d%%\n", resource.getName(), count,
+                            BinarySnapshotRepository.fromEpochMinutes(bucketStart).toLocalDate(), load));
+                }
+            });
+
+            List<ResourceLoadProfile.Overload> overloads = ResourceLoadProfile.findOverloads(project);
+            sb.append("\n--- Over-Allocated Intervals ---\n");
+            if (overloads.isEmpty()) sb.append("No resource is allocated above 100%.\n");
+            for (int i = 0; i < overloads.size() && i < maxListed; i++) {
+                ResourceLoadProfile.Overload o = overloads.get(i);
+                sb.append(String.format("- %s: %d%% from %s to %s (Tasks %s)\n", o.resource.getName(), o.load,
+                        o.start.format(Task.Formater), o.end.format(Task.Formater),
+                        o.tasks.stream().map(t -> String.valueOf(t.id)).collect(Collectors.joining(", "))));
+            }
+            if (overloads.size() > maxListed) sb.append(String.format("... and %d more\n", overloads.size() - maxListed));
+            return sb.toString();
+        }
+
+        private String getTeamForTask(Project project, String taskIdStr) {
             if (taskIdStr.isEmpty()) return "Please enter a Task ID for 'Resources and teams' analysis.";
             try {
                 int taskId = Integer.parseInt(taskIdStr);
@@ -647,7 +879,37 @@ public class ProjectPlannerGUI extends JFrame {
             }
         }
 
-        private String getEffortBreakdown() {
+        private String getCriticalPath(Project project) {
+            CriticalPathAnalysis cpm;
+            try {
+                cpm = project.criticalPathAnalysis();
+            } catch (DependencyCycleException e) {
+                return "Critical path analysis failed: " + e.getMessage();
+            }
+            StringBuilder sb = new StringBuilder();
+            sb.append("--- Critical Path (CPM) ---\n");
+            if (cpm.projectFinish() == null) return sb.append("No tasks to analyze.\n").toString();
+            sb.append(String.format("Earliest Finish: %s\n", cpm.projectFinish().format(Task.Formater)));
+            sb.append("Path:\n");
+            for (Task task : cpm.criticalPath()) sb.append("- ").append(task).append("\n");
+
+            sb.append("\nCritical tasks (zero total float):\n");
+            TaskGraph graph = cpm.getGraph();
+            for (Task task : cpm.criticalTasks()) {
+                int i = graph.indexOf(task.id);
+                sb.append(String.format("%-30s ES %s  LS %s\n", task,
+                        cpm.earliestStartTime(i).format(Task.Formater), cpm.latestStartTime(i).format(Task.Formater)));
+            }
+
+            sb.append("\nFloat per task (hours, total / free):\n");
+            for (int i = 0; i < graph.size(); i++) {
+                sb.append(String.format("%-30s %8.1f / %8.1f\n", graph.task(i),
+                        cpm.totalFloat(i) / 60.0, cpm.freeFloat(i) / 60.0));
+            }
+            return sb.toString();
+        }
+
+        private String getEffortBreakdown(Project project) {
             Map<String, Double> efforts = project.totalEffortHoursPerResource();
             StringBuilder sb = new StringBuilder();
             sb.append("--- Total Effort Per Resource (hours & person-days / 8h) ---\n");
@@ -666,92 +928,19 @@ public class ProjectPlannerGUI extends JFrame {
         public GanttChartFrame(Project project) {
             setTitle("Project Visualization (Gantt Chart)");
             setSize(1000, 600);
+            setDefaultCloseOperation(DISPOSE_ON_CLOSE);
             setLocationRelativeTo(null);
-            add(new GanttPanel(project));
-            setVisible(true);
-        }
-    }
-
-    private class GanttPanel extends JPanel {
-        private final List<Task> taskList;
-
-        public GanttPanel(Project project) {
-            this.taskList = project.tasksById.values().stream()
-                    .sorted((t1, t2) -> t1.startTime.compareTo(t2.startTime))
-                    .collect(Collectors.toList());
-            setBackground(Color.WHITE);
-        }
-
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            if (taskList.isEmpty()) {
-                g2d.drawString("No tasks to visualize.", 20, 20);
-                return;
-            }
-
-            int nameWidth = 150;
-            int chartMargin = 20;
-            int width = getWidth() - nameWidth - (chartMargin * 2);
-            int barHeight = 25;
-            int barSpacing = 15;
-            int startX = nameWidth + chartMargin;
-            int startY = chartMargin + 20;
-
-            LocalDateTime projectStart = taskList.get(0).startTime;
-            LocalDateTime projectEnd = taskList.stream()
-                    .map(t -> t.endTime)
-                    .max(LocalDateTime::compareTo)
-                    .orElse(projectStart.plusHours(1));
-            long totalMinutes = ChronoUnit.MINUTES.between(projectStart, projectEnd);
-            if (totalMinutes == 0) totalMinutes = 1;
-
-            g2d.setColor(Color.LIGHT_GRAY);
-            g2d.drawLine(startX, startY - 5, startX + width, startY - 5);
-            g2d.setColor(Color.BLACK);
-            g2d.drawString("Start: " + projectStart.toLocalDate(), startX, chartMargin);
-            g2d.drawString("End: " + projectEnd.toLocalDate(), startX + width - 100, chartMargin);
-
-            int y = startY;
-            for (int i = 0; i < taskList.size(); i++) {
-                Task task = taskList.get(i);
-
-                g2d.setColor(Color.BLACK);
-                g2d.drawString(task.id + ". " + task.title, chartMargin, y + barHeight - 8);
-
-                long taskStartTimeMinutes = ChronoUnit.MINUTES.between(projectStart, task.startTime);
-                long taskDurationMinutes = ChronoUnit.MINUTES.between(task.startTime, task.endTime);
-
-                int xPos = (int) (startX + (double) taskStartTimeMinutes / totalMinutes * width);
-                int barW = (int) ((double) taskDurationMinutes / totalMinutes * width);
-
-                Color barColor = new Color(50, 150, 255);
-                g2d.setColor(barColor);
-                g2d.fillRect(xPos, y, barW, barHeight);
-                g2d.setColor(barColor.darker());
-                g2d.drawRect(xPos, y, barW, barHeight);
-
-                g2d.setColor(Color.WHITE);
-                String durationStr = String.format("%.1f h", task.getDurationInHours());
-                g2d.drawString("ID: " + task.id + "  ", xPos + 5, y + 15);
-                g2d.drawString(durationStr, xPos + barW - g2d.getFontMetrics().stringWidth(durationStr) - 5, y + barHeight - 8);
-
-                g2d.setColor(Color.RED.darker());
-                for (Task dep : task.dependencies) {
-                    int depIndex = taskList.indexOf(dep);
-                    if (depIndex != -1) {
-                        int depY = startY + depIndex * (barHeight + barSpacing);
-                        g2d.drawLine(xPos, y + barHeight / 2, xPos - 5, y + barHeight / 2);
-                        g2d.drawLine(xPos - 5, y + barHeight / 2, xPos - 5, depY + barHeight / 2);
-                        g2d.drawLine(xPos - 5, depY + barHeight / 2, startX + width, depY + barHeight / 2);
-                    }
+            GanttChartPanel chart = new GanttChartPanel(project);
+            JScrollPane scrollPane = new JScrollPane(chart);
+            scrollPane.getViewport().setScrollMode(JViewport.BLIT_SCROLL_MODE);
+            add(scrollPane);
+            addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    chart.detach();
                 }
-
-                y += barHeight + barSpacing;
-            }
+            });
+            setVisible(true);
         }
     }
-}
\ No newline at end of file
+}
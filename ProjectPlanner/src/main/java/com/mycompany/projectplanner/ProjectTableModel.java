@@ -0,0 +1,131 @@
+package com.mycompany.projectplanner;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Table model over a live Project. Rows follow the project's task graph, so no
+ * task list is copied. The formatted cells of a row (dates, dependency ids,
+ * team) are built the first time the row is shown and kept until the schedule
+ * engine reports a change to that row; only those rows are repainted.
+ * Structural and resource changes are coalesced into one refresh per EDT pass.
+ */
+public class ProjectTableModel extends AbstractTableModel implements ScheduleEngine.ScheduleListener {
+
+    private static final String[] COLUMN_NAMES = {"Id", "Task", "Start", "End", "Dependencies", "Resources"};
+    // first column held in a row projection
+    private static final int FIRST_CACHED_COLUMN = 2;
+    private static final int TEAM = 5 - FIRST_CACHED_COLUMN;
+
+    private final Project project;
+    // row i shows graph task i, which is tasksById order
+    private TaskGraph graph;
+    // start, end, dependencies, resources per row; null until the row is shown
+    private String[][] projections;
+    private boolean refreshPending;
+
+    public ProjectTableModel(Project project) {
+        this.project = project;
+        this.graph = project.graph();
+        this.projections = new String[graph.size()][];
+        project.scheduleEngine().addListener(this);
+    }
+
+    public void detach() {
+        project.scheduleEngine().removeListener(this);
+    }
+
+    @Override
+    public void scheduleChanged(ScheduleEngine.ScheduleChange change) {
+        if (change.isFull()) {
+            if (!refreshPending) {
+                refreshPending = true;
+                SwingUtilities.invokeLater(this::refresh);
+            }
+            return;
+        }
+        if (refreshPending) return;
+        for (int id : change.getTaskIds()) {
+            int row = graph.indexOf(id);
+            if (row >= 0) {
+                projections[row] = null;
+                fireTableRowsUpdated(row, row);
+            }
+        }
+    }
+
+    // tasks or dependencies changed: new rows; only resources changed: same rows, new teams
+    void refresh() {
+        refreshPending = false;
+        TaskGraph current = project.graph();
+        if (current != graph) {
+            graph = current;
+            projections = new String[graph.size()][];
+            fireTableDataChanged();
+        } else if (graph.size() > 0) {
+            for (String[] projection : projections) {
+                if (projection != null) projection[TEAM] = null;
+            }
+            fireTableRowsUpdated(0, graph.size() - 1);
+        }
+    }
+
+    boolean isCached(int row) {
+        return projections[row] != null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return graph.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int columnIndex) {
+        return COLUMN_NAMES[columnIndex];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        Task task = graph.task(rowIndex);
+        switch (columnIndex) {
+            case 0: return task.id;
+            case 1: return task.title;
+            case 2:
+            case 3:
+            case 4:
+            case 5:
+                return projection(rowIndex, task)[columnIndex - FIRST_CACHED_COLUMN];
+            default: return "";
+        }
+    }
+
+    private String[] projection(int row, Task task) {
+        String[] projection = projections[row];
+        if (projection == null) {
+            projection = new String[4];
+            projection[0] = task.startTime.format(Task.Formater);
+            projection[1] = task.endTime.format(Task.Formater);
+            StringBuilder deps = new StringBuilder();
+            for (Task dep : task.dependencies) {
+                if (deps.length() > 0) deps.append(", ");
+                deps.append(dep.id);
+            }
+            projection[2] = deps.toString();
+            projections[row] = projection;
+        }
+        if (projection[TEAM] == null) {
+            projection[TEAM] = String.join(", ", project.teamForTask(task.id));
+        }
+        return projection;
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+}
@@ -7,12 +7,26 @@ public class Resource {
     public String name;
     public Map<Task, Integer> allocations = new LinkedHashMap<>();
 
+    // project this resource belongs to, set by Project.addResource
+    Project project;
+    // position in the project's resource list, used to keep teams in list order
+    long sequence;
+
     public Resource(String name) {
         this.name = name;
     }
 
     public void addAllocations(Task t, int pct) {
         allocations.put(t, pct);
+        if (project != null) {
+            project.allocationAdded(this, t, pct);
+        }
+    }
+
+    public void removeAllocation(Task t) {
+        if (allocations.remove(t) != null && project != null) {
+            project.allocationRemoved(this, t);
+        }
     }
 
     public String getName() {
@@ -0,0 +1,249 @@
+package com.mycompany.projectplanner;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Resource leveling with a serial schedule generation scheme. Tasks are
+ * scheduled one at a time, taking the eligible task (all dependencies
+ * scheduled) with the smallest CPM latest start from a priority queue, so
+ * tasks with float are the ones that get pushed back. Each task starts at the
+ * earliest minute that respects its planned start, the finish of its
+ * dependencies and a capacity of 100% on every resource it uses. Durations
+ * never change and no task moves earlier than planned.
+ *
+ * The input project is left untouched; the result holds a rescheduled copy
+ * and the list of tasks that moved.
+ */
+public class ResourceLeveler {
+
+    /** Resources are never loaded above this percentage */
+    public static final int CAPACITY = 100;
+
+    /** One task moved by the leveler */
+    public static final class TaskShift {
+        public final int taskId;
+        public final LocalDateTime oldStart;
+        public final LocalDateTime oldEnd;
+        public final LocalDateTime newStart;
+        public final LocalDateTime newEnd;
+
+        TaskShift(Task task, LocalDateTime newStart, LocalDateTime newEnd) {
+            this.taskId = task.id;
+            this.oldStart = task.startTime;
+            this.oldEnd = task.endTime;
+            this.newStart = newStart;
+            this.newEnd = newEnd;
+        }
+
+        public long delayMinutes() {
+            return Duration.between(oldStart, newStart).toMinutes();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Task %d: %s-%s -> %s-%s (+%.1f h)", taskId,
+                    oldStart.format(Task.Formater), oldEnd.format(Task.Formater),
+                    newStart.format(Task.Formater), newEnd.format(Task.Formater), delayMinutes() / 60.0);
+        }
+    }
+
+    public static final class Result {
+        private final Project proposed;
+        private final List<TaskShift> shifts;
+
+        Result(Project proposed, List<TaskShift> shifts) {
+            this.proposed = proposed;
+            this.shifts = shifts;
+        }
+
+        /** Copy of the project with the leveled dates */
+        public Project getProposedProject() {
+            return proposed;
+        }
+
+        /** Moved tasks in dependency order */
+        public List<TaskShift> getShifts() {
+            return shifts;
+        }
+    }
+
+    /**
+     * Levels the project's resources.
+     *
+     * @throws DependencyCycleException if the dependencies contain a cycle
+     */
+    public static Result level(Project project) {
+        CriticalPathAnalysis cpm = project.criticalPathAnalysis();
+        TaskGraph graph = cpm.getGraph();
+        int n = graph.size();
+
+        // per task: the profiles of its resources and the percentages used
+        LoadProfile[][] taskProfiles = new LoadProfile[n][];
+        int[][] taskPercentages = new int[n][];
+        int[] teamSizes = new int[n];
+        List<LoadProfile> profiles = new ArrayList<>();
+        for (Resource r : project.getResources()) {
+            LoadProfile profile = new LoadProfile();
+            profiles.add(profile);
+            for (Map.Entry<Task, Integer> e : r.getAllocations().entrySet()) {
+                int i = graph.indexOf(e.getKey().id);
+                if (i < 0 || graph.task(i) != e.getKey() || e.getValue() <= 0) continue;
+                if (taskProfiles[i] == null) {
+                    taskProfiles[i] = new LoadProfile[2];
+                    taskPercentages[i] = new int[2];
+                } else if (teamSizes[i] == taskProfiles[i].length) {
+                    taskProfiles[i] = Arrays.copyOf(taskProfiles[i], teamSizes[i] * 2);
+                    taskPercentages[i] = Arrays.copyOf(taskPercentages[i], teamSizes[i] * 2);
+                }
+                taskProfiles[i][teamSizes[i]] = profile;
+                taskPercentages[i][teamSizes[i]] = e.getValue();
+                teamSizes[i]++;
+            }
+        }
+
+        // least float first, then planned start, then id
+        PriorityQueue<Integer> eligible = new PriorityQueue<>(Math.max(1, n), (a, b) -> {
+            int c = Long.compare(cpm.latestStart(a), cpm.latestStart(b));
+            if (c != 0) return c;
+            c = Long.compare(graph.startMinute(a), graph.startMinute(b));
+            return c != 0 ? c : Integer.compare(graph.taskId(a), graph.taskId(b));
+        });
+        int[] waiting = new int[n];
+        for (int i = 0; i < n; i++) {
+            waiting[i] = graph.predecessorCount(i);
+            if (waiting[i] == 0) eligible.add(i);
+        }
+
+        long[] start = new long[n];
+        long[] finish = new long[n];
+        int[] scheduledOrder = new int[n];
+        int scheduled = 0;
+        while (!eligible.isEmpty()) {
+            int i = eligible.poll();
+            long duration = graph.endMinute(i) - graph.startMinute(i);
+            long t = graph.startMinute(i);
+            for (int k = graph.predecessorStart(i); k < graph.predecessorEnd(i); k++) {
+                t = Math.max(t, finish[graph.predecessorAt(k)]);
+            }
+            if (duration > 0) {
+                t = earliestFeasibleStart(t, duration, taskProfiles[i], taskPercentages[i], teamSizes[i]);
+                for (int m = 0; m < teamSizes[i]; m++) {
+                    taskProfiles[i][m].add(t, t + duration, taskPercentages[i][m]);
+                }
+            }
+            start[i] = t;
+            finish[i] = t + duration;
+            scheduledOrder[scheduled++] = i;
+
+            for (int k = graph.successorStart(i); k < graph.successorEnd(i); k++) {
+                int s = graph.successorAt(k);
+                if (--waiting[s] == 0) eligible.add(s);
+            }
+        }
+
+        List<TaskShift> shifts = new ArrayList<>();
+        for (int o = 0; o < scheduled; o++) {
+            int i = scheduledOrder[o];
+            if (start[i] != graph.startMinute(i)) {
+                shifts.add(new TaskShift(graph.task(i), BinarySnapshotRepository.fromEpochMinutes(start[i]),
+                        BinarySnapshotRepository.fromEpochMinutes(finish[i])));
+            }
+        }
+        return new Result(copyWithDates(project, graph, start, finish), Collections.unmodifiableList(shifts));
+    }
+
+    // first start at or after t where every resource of the task has room for the whole duration
+    private static long earliestFeasibleStart(long t, long duration, LoadProfile[] profiles, int[] percentages, int teamSize) {
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            for (int m = 0; m < teamSize; m++) {
+                long retry = profiles[m].conflictEnd(t, t + duration, percentages[m]);
+                if (retry > t) {
+                    t = retry;
+                    moved = true;
+                }
+            }
+        }
+        return t;
+    }
+
+    private static Project copyWithDates(Project project, TaskGraph graph, long[] start, long[] finish) {
+        Project copy = new Project();
+        copy.setName(project.getName());
+        copy.setProjectId(project.getProjectId());
+        int n = graph.size();
+        Task[] tasks = new Task[n];
+        for (int i = 0; i < n; i++) {
+            Task t = graph.task(i);
+            tasks[i] = new Task(t.id, t.title, BinarySnapshotRepository.fromEpochMinutes(start[i]),
+                    BinarySnapshotRepository.fromEpochMinutes(finish[i]));
+            copy.addTask(tasks[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int k = graph.predecessorStart(i); k < graph.predecessorEnd(i); k++) {
+                copy.addDependency(tasks[i], tasks[graph.predecessorAt(k)]);
+            }
+        }
+        for (Resource r : project.getResources()) {
+            Resource copied = new Resource(r.getName());
+            for (Map.Entry<Task, Integer> e : r.getAllocations().entrySet()) {
+                int i = graph.indexOf(e.getKey().id);
+                if (i >= 0 && graph.task(i) == e.getKey()) copied.addAllocations(tasks[i], e.getValue());
+            }
+            copy.addResource(copied);
+        }
+        return copy;
+    }
+
+    /**
+     * Load of one resource as a step function: each key starts a stretch with
+     * the mapped load, which lasts until the next key. Always ends at load 0.
+     */
+    private static class LoadProfile {
+        private final TreeMap<Long, Integer> steps = new TreeMap<>();
+
+        /**
+         * Long.MIN_VALUE if pct fits over [from, to), otherwise the end of the
+         * first stretch where it does not. A task above 100% on its own only
+         * needs the resource to be otherwise free.
+         */
+        long conflictEnd(long from, long to, int pct) {
+            Map.Entry<Long, Integer> floor = steps.floorEntry(from);
+            if (floor != null && overloaded(floor.getValue(), pct)) {
+                return steps.higherKey(floor.getKey());
+            }
+            for (Map.Entry<Long, Integer> e : steps.subMap(from, false, to, false).entrySet()) {
+                if (overloaded(e.getValue(), pct)) return steps.higherKey(e.getKey());
+            }
+            return Long.MIN_VALUE;
+        }
+
+        private static boolean overloaded(int load, int pct) {
+            return load > 0 && load + pct > CAPACITY;
+        }
+
+        void add(long from, long to, int pct) {
+            split(from);
+            split(to);
+            NavigableMap<Long, Integer> range = steps.subMap(from, true, to, false);
+            range.replaceAll((k, load) -> load + pct);
+        }
+
+        // makes sure a stretch starts exactly at the given minute
+        private void split(long minute) {
+            if (steps.containsKey(minute)) return;
+            Map.Entry<Long, Integer> floor = steps.floorEntry(minute);
+            steps.put(minute, floor == null ? 0 : floor.getValue());
+        }
+    }
+}
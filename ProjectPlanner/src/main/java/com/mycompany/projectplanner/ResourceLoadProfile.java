@@ -0,0 +1,260 @@
+package com.mycompany.projectplanner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utilization of each resource over time. A sweep over the +percentage /
+ * -percentage events of a resource's allocations gives its load curve as
+ * piecewise-constant segments. Bucketed views (hour, day, week) are derived
+ * from the segments as run-length runs of buckets with the same peak load,
+ * so idle time and long steady stretches cost nothing however long the plan is.
+ * Times are minutes since the epoch; weeks start on Monday.
+ */
+public class ResourceLoadProfile {
+
+    public enum Bucket {
+        HOUR(60, 0),
+        DAY(24 * 60, 0),
+        // 1970-01-05 was a Monday
+        WEEK(7 * 24 * 60, 4 * 24 * 60);
+
+        final long minutes;
+        final long offset;
+
+        Bucket(long minutes, long offset) {
+            this.minutes = minutes;
+            this.offset = offset;
+        }
+
+        /** Number of the bucket containing the minute */
+        public long bucketOf(long minute) {
+            return Math.floorDiv(minute - offset, minutes);
+        }
+
+        public long startOf(long bucket) {
+            return bucket * minutes + offset;
+        }
+    }
+
+    /** Constant load in percent over [start, end) */
+    public static final class Segment {
+        public final long start;
+        public final long end;
+        public final int load;
+
+        Segment(long start, long end, int load) {
+            this.start = start;
+            this.end = end;
+            this.load = load;
+        }
+
+        @Override
+        public String toString() {
+            return BinarySnapshotRepository.fromEpochMinutes(start) + ".." + BinarySnapshotRepository.fromEpochMinutes(end) + " " + load + "%";
+        }
+    }
+
+    /** An interval where a resource is allocated above 100%, with the tasks involved */
+    public static final class Overload {
+        public final Resource resource;
+        public final LocalDateTime start;
+        public final LocalDateTime end;
+        public final int load;
+        public final List<Task> tasks;
+
+        Overload(Resource resource, long start, long end, int load, List<Task> tasks) {
+            this.resource = resource;
+            this.start = BinarySnapshotRepository.fromEpochMinutes(start);
+            this.end = BinarySnapshotRepository.fromEpochMinutes(end);
+            this.load = load;
+            this.tasks = tasks;
+        }
+    }
+
+    public interface RunListener {
+        /** count consecutive buckets starting at bucketStart (epoch minutes) all peak at load percent */
+        void run(Resource resource, long bucketStart, long count, int load);
+    }
+
+    // receives each non-zero constant stretch with the allocation indices active in it
+    private interface SegmentSink {
+        void segment(long start, long end, int load, int[] active, int activeCount);
+    }
+
+    /** Non-zero load segments of one resource in time order; idle time is left out */
+    public static List<Segment> loadCurve(Resource resource) {
+        List<Segment> segments = new ArrayList<>();
+        sweep(resource, (start, end, load, active, activeCount) -> {
+            Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (last != null && last.end == start && last.load == load) {
+                segments.set(segments.size() - 1, new Segment(last.start, end, load));
+            } else {
+                segments.add(new Segment(start, end, load));
+            }
+        });
+        return segments;
+    }
+
+    /**
+     * Peak load per bucket for every resource, reported as runs of equal
+     * buckets in time order. Buckets without any allocation are skipped.
+     */
+    public static void forEachBucketRun(Project project, Bucket bucket, RunListener listener) {
+        for (Resource r : project.getResources()) {
+            forEachBucketRun(r, bucket, listener);
+        }
+    }
+
+    public static void forEachBucketRun(Resource resource, Bucket bucket, RunListener listener) {
+        RunBuilder runs = new RunBuilder(resource, bucket, listener);
+        for (Segment s : loadCurve(resource)) {
+            runs.add(s);
+        }
+        runs.finish();
+    }
+
+    /** Every interval above 100% across all resources, per resource in time order */
+    public static List<Overload> findOverloads(Project project) {
+        List<Overload> overloads = new ArrayList<>();
+        for (Resource r : project.getResources()) {
+            Task[] tasks = r.getAllocations().keySet().toArray(new Task[0]);
+            sweep(r, (start, end, load, active, activeCount) -> {
+                if (load <= 100) return;
+                Overload last = overloads.isEmpty() ? null : overloads.get(overloads.size() - 1);
+                List<Task> involved = new ArrayList<>(activeCount);
+                for (int a = 0; a < activeCount; a++) involved.add(tasks[active[a]]);
+                involved.sort((x, y) -> Integer.compare(x.id, y.id));
+                if (last != null && last.resource == r && last.load == load && last.tasks.equals(involved)
+                        && BinarySnapshotRepository.epochMinutes(last.end) == start) {
+                    overloads.set(overloads.size() - 1, new Overload(r, BinarySnapshotRepository.epochMinutes(last.start), end, load, involved));
+                } else {
+                    overloads.add(new Overload(r, start, end, load, involved));
+                }
+            });
+        }
+        return overloads;
+    }
+
+    /**
+     * Sorts the allocation start/end events of one resource and sweeps them,
+     * reporting each stretch of non-zero constant load.
+     */
+    private static void sweep(Resource resource, SegmentSink sink) {
+        Map<Task, Integer> allocations = resource.getAllocations();
+        int n = allocations.size();
+        long[] times = new long[2 * n];
+        int[] deltas = new int[n];
+        int events = 0;
+        int a = 0;
+        for (Map.Entry<Task, Integer> e : allocations.entrySet()) {
+            Task t = e.getKey();
+            long start = BinarySnapshotRepository.epochMinutes(t.startTime);
+            long end = BinarySnapshotRepository.epochMinutes(t.endTime);
+            deltas[a] = e.getValue();
+            if (start < end && deltas[a] != 0) {
+                // time in the high bits, allocation index and a start flag below it
+                times[events++] = (end << 32) | ((long) a << 1);
+                times[events++] = (start << 32) | ((long) a << 1) | 1;
+            }
+            a++;
+        }
+        Arrays.sort(times, 0, events);
+
+        int[] active = new int[8];
+        int[] position = new int[n];
+        int activeCount = 0;
+        int load = 0;
+        for (int i = 0; i < events; ) {
+            long time = times[i] >> 32;
+            // apply every event at this minute before reporting the next stretch
+            while (i < events && (times[i] >> 32) == time) {
+                int alloc = (int) ((times[i] & 0xffffffffL) >>> 1);
+                if ((times[i] & 1) == 1) {
+                    if (activeCount == active.length) active = Arrays.copyOf(active, activeCount * 2);
+                    position[alloc] = activeCount;
+                    active[activeCount++] = alloc;
+                    load += deltas[alloc];
+                } else {
+                    int p = position[alloc];
+                    int moved = active[--activeCount];
+                    active[p] = moved;
+                    position[moved] = p;
+                    load -= deltas[alloc];
+                }
+                i++;
+            }
+            if (i < events && load != 0) {
+                sink.segment(time, times[i] >> 32, load, active, activeCount);
+            }
+        }
+    }
+
+    // turns time-ordered segments into runs of buckets with equal peak load
+    private static class RunBuilder {
+        private final Resource resource;
+        private final Bucket bucket;
+        private final RunListener listener;
+
+        // bucket currently being filled and its peak so far
+        private long openBucket = Long.MIN_VALUE;
+        private int openPeak;
+        // pending run of finished buckets
+        private long runStart;
+        private long runCount;
+        private int runLoad;
+
+        RunBuilder(Resource resource, Bucket bucket, RunListener listener) {
+            this.resource = resource;
+            this.bucket = bucket;
+            this.listener = listener;
+        }
+
+        void add(Segment s) {
+            long first = bucket.bucketOf(s.start);
+            long last = bucket.bucketOf(s.end - 1);
+            if (first != openBucket) {
+                closeOpenBucket();
+                openBucket = first;
+                openPeak = 0;
+            }
+            openPeak = Math.max(openPeak, s.load);
+            if (last > first) {
+                closeOpenBucket();
+                // buckets strictly inside the segment carry its load
+                if (last - first > 1) append(first + 1, last - first - 1, s.load);
+                openBucket = last;
+                openPeak = s.load;
+            }
+        }
+
+        void finish() {
+            closeOpenBucket();
+            flush();
+        }
+
+        private void closeOpenBucket() {
+            if (openBucket != Long.MIN_VALUE) append(openBucket, 1, openPeak);
+            openBucket = Long.MIN_VALUE;
+        }
+
+        private void append(long firstBucket, long count, int load) {
+            if (runCount > 0 && runLoad == load && runStart + runCount == firstBucket) {
+                runCount += count;
+                return;
+            }
+            flush();
+            runStart = firstBucket;
+            runCount = count;
+            runLoad = load;
+        }
+
+        private void flush() {
+            if (runCount > 0) listener.run(resource, bucket.startOf(runStart), runCount, runLoad);
+            runCount = 0;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.mycompany.projectplanner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the schedule analyses of a project current across edits of a single
+ * task's dates. The first query computes everything; after that an edit only
+ * re-runs the forward pass through the downstream tasks whose earliest dates
+ * move, and the backward pass through the upstream tasks whose latest dates
+ * move. Planned start and end bounds and effort totals are kept by Project
+ * itself. Overlapping dependency pairs are patched for the edited task alone.
+ * Adding or removing tasks, edges or allocations drops the cached state and the
+ * next query recomputes it.
+ *
+ * Listeners hear about every change: after an edit with the ids of the tasks
+ * whose dates or schedule values changed, after a structural change as a full
+ * refresh.
+ */
+public class ScheduleEngine {
+
+    public interface ScheduleListener {
+        void scheduleChanged(ScheduleChange change);
+    }
+
+    public static final class ScheduleChange {
+        private final boolean full;
+        private final Set<Integer> taskIds;
+
+        ScheduleChange(boolean full, Set<Integer> taskIds) {
+            this.full = full;
+            this.taskIds = taskIds;
+        }
+
+        /** True when anything may have changed and everything should be refreshed */
+        public boolean isFull() {
+            return full;
+        }
+
+        /** Tasks whose dates, earliest/latest dates or floats changed (empty when full) */
+        public Set<Integer> getTaskIds() {
+            return taskIds;
+        }
+    }
+
+    private final Project project;
+    private final List<ScheduleListener> listeners = new CopyOnWriteArrayList<>();
+
+    // all arrays are indexed like graph; null until the first query
+    private TaskGraph graph;
+    private int[] position;
+    private long[] start;
+    private long[] end;
+    private long[] earliestStart;
+    private long[] earliestFinish;
+    private long[] latestStart;
+    private long[] latestFinish;
+    private long finish;
+    private Set<Long> overlappingEdges;
+    // queued[i] == epoch marks task i as queued by the current propagation, so
+    // an edit never clears or allocates a per-task array
+    private int[] queued;
+    private int epoch;
+
+    ScheduleEngine(Project project) {
+        this.project = project;
+    }
+
+    public void addListener(ScheduleListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ScheduleListener listener) {
+        listeners.remove(listener);
+    }
+
+    // --- queries ---
+
+    /** Earliest finish allowed by the dependencies, or null for an empty project */
+    public LocalDateTime projectFinish() {
+        ensureSchedule();
+        return graph.size() == 0 ? null : BinarySnapshotRepository.fromEpochMinutes(finish);
+    }
+
+    public LocalDateTime earliestStart(Task task) {
+        // index first: it computes the arrays on the first query
+        int i = index(task);
+        return BinarySnapshotRepository.fromEpochMinutes(earliestStart[i]);
+    }
+
+    public LocalDateTime latestStart(Task task) {
+        int i = index(task);
+        return BinarySnapshotRepository.fromEpochMinutes(latestStart[i]);
+    }
+
+    /** Minutes the task can slip without moving the project finish */
+    public long totalFloat(Task task) {
+        int i = index(task);
+        return latestStart[i] - earliestStart[i];
+    }
+
+    /** Minutes the task can slip without delaying any of its successors */
+    public long freeFloat(Task task) {
+        int i = index(task);
+        long next = finish;
+        for (int k = graph.successorStart(i); k < graph.successorEnd(i); k++) {
+            next = Math.min(next, earliestStart[graph.successorAt(k)]);
+        }
+        return next - earliestFinish[i];
+    }
+
+    public boolean isCritical(Task task) {
+        return totalFloat(task) == 0;
+    }
+
+    /** Same pairs and wording as Project.findOverlappingDependencyPairs */
+    public List<String> overlappingDependencyPairs() {
+        ensureSchedule();
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < graph.size(); i++) {
+            for (int k = graph.predecessorStart(i); k < graph.predecessorEnd(i); k++) {
+                int d = graph.predecessorAt(k);
+                if (overlappingEdges.contains(Project.edgeKey(graph.taskId(i), graph.taskId(d)))) {
+                    result.add("Task " + graph.taskId(i) + " overlaps with its dependency Task " + graph.taskId(d));
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Project.totalEffortHoursPerResource, which caches the totals until the next change */
+    public Map<String, Double> effortHoursPerResource() {
+        return project.totalEffortHoursPerResource();
+    }
+
+    // --- notifications from Project ---
+
+    void invalidate() {
+        graph = null;
+        fire(new ScheduleChange(true, Set.of()));
+    }
+
+    void resourcesChanged() {
+        fire(new ScheduleChange(true, Set.of()));
+    }
+
+    /** The task's dates were edited; its tasks and edges are unchanged */
+    void taskEdited(Task task) {
+        if (graph == null || graph != project.graph()) {
+            // nothing computed yet, or the structure changed since: the next query recomputes
+            graph = null;
+            fire(new ScheduleChange(false, Set.of(task.id)));
+            return;
+        }
+        int x = graph.indexOf(task.id);
+        if (x < 0) return;
+
+        start[x] = graph.startMinute(x);
+        end[x] = graph.endMinute(x);
+        Set<Integer> changed = new HashSet<>();
+        changed.add(task.id);
+
+        updateOverlaps(x);
+
+        long oldFinish = finish;
+        boolean finishMayDrop = propagateForward(x, changed);
+        if (finishMayDrop) {
+            finish = Long.MIN_VALUE;
+            for (long ef : earliestFinish) finish = Math.max(finish, ef);
+        }
+        if (finish != oldFinish) {
+            // every latest date hangs off the finish
+            backwardPass(changed);
+        } else {
+            propagateBackward(x, changed);
+        }
+        fire(new ScheduleChange(false, changed));
+    }
+
+    // --- computation ---
+
+    private int index(Task task) {
+        ensureSchedule();
+        int i = graph.indexOf(task.id);
+        if (i < 0) {
+            throw new IllegalArgumentException("Task " + task.id + " is not part of the project");
+        }
+        return i;
+    }
+
+    /**
+     * @throws DependencyCycleException if the dependencies contain a cycle
+     */
+    private void ensureSchedule() {
+        TaskGraph current = project.graph();
+        if (graph == current) return;
+
+        int[] order = project.topologicalOrder();
+        int n = current.size();
+        graph = null;
+        position = new int[n];
+        for (int p = 0; p < n; p++) position[order[p]] = p;
+        start = new long[n];
+        end = new long[n];
+        for (int i = 0; i < n; i++) {
+            start[i] = current.startMinute(i);
+            end[i] = current.endMinute(i);
+        }
+
+        CriticalPathAnalysis cpm = new CriticalPathAnalysis(current, order);
+        earliestStart = new long[n];
+        earliestFinish = new long[n];
+        latestStart = new long[n];
+        latestFinish = new long[n];
+        queued = new int[n];
+        epoch = 0;
+        finish = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            earliestStart[i] = cpm.earliestStart(i);
+            earliestFinish[i] = cpm.earliestFinish(i);
+            latestStart[i] = cpm.latestStart(i);
+            latestFinish[i] = cpm.latestFinish(i);
+            finish = Math.max(finish, earliestFinish[i]);
+        }
+
+        overlappingEdges = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            for (int k = current.predecessorStart(i); k < current.predecessorEnd(i); k++) {
+                int d = current.predecessorAt(k);
+                if (overlaps(i, d)) overlappingEdges.add(Project.edgeKey(current.taskId(i), current.taskId(d)));
+            }
+        }
+        graph = current;
+    }
+
+    // task starts before its dependency ends and the two overlap (see Task.overLapsWith)
+    private boolean overlaps(int task, int dep) {
+        return start[task] < end[dep] && Math.max(start[task], start[dep]) < Math.min(end[task], end[dep]);
+    }
+
+    private void updateOverlaps(int x) {
+        for (int k = graph.predecessorStart(x); k < graph.predecessorEnd(x); k++) {
+            int d = graph.predecessorAt(k);
+            setOverlap(Project.edgeKey(graph.taskId(x), graph.taskId(d)), overlaps(x, d));
+        }
+        for (int k = graph.successorStart(x); k < graph.successorEnd(x); k++) {
+            int c = graph.successorAt(k);
+            setOverlap(Project.edgeKey(graph.taskId(c), graph.taskId(x)), overlaps(c, x));
+        }
+    }
+
+    private void setOverlap(long key, boolean overlapping) {
+        if (overlapping) overlappingEdges.add(key);
+        else overlappingEdges.remove(key);
+    }
+
+    /**
+     * Recomputes earliest dates from x downstream in topological order,
+     * stopping wherever a task's earliest finish does not move. Returns true
+     * if a task that finished last now finishes earlier.
+     */
+    private boolean propagateForward(int x, Set<Integer> changed) {
+        PriorityQueue<Integer> queue = new PriorityQueue<>((a, b) -> Integer.compare(position[a], position[b]));
+        int mark = nextEpoch();
+        queue.add(x);
+        queued[x] = mark;
+        boolean finishMayDrop = false;
+        while (!queue.isEmpty()) {
+            int i = queue.poll();
+            long es = start[i];
+            for (int k = graph.predecessorStart(i); k < graph.predecessorEnd(i); k++) {
+                es = Math.max(es, earliestFinish[graph.predecessorAt(k)]);
+            }
+            long ef = es + (end[i] - start[i]);
+            long oldFinish = earliestFinish[i];
+            if (es != earliestStart[i]) {
+                changed.add(graph.taskId(i));
+                // the free float of every predecessor is measured against this start
+                for (int k = graph.predecessorStart(i); k < graph.predecessorEnd(i); k++) {
+                    changed.add(graph.taskId(graph.predecessorAt(k)));
+                }
+            }
+            earliestStart[i] = es;
+            if (ef == oldFinish) continue;
+
+            changed.add(graph.taskId(i));
+            earliestFinish[i] = ef;
+            if (ef > finish) finish = ef;
+            else if (oldFinish == finish && ef < finish) finishMayDrop = true;
+            for (int k = graph.successorStart(i); k < graph.successorEnd(i); k++) {
+                int s = graph.successorAt(k);
+                if (queued[s] != mark) {
+                    queued[s] = mark;
+                    queue.add(s);
+                }
+            }
+        }
+        return finishMayDrop;
+    }
+
+    /** Recomputes latest dates from x upstream, stopping where a latest start does not move */
+    private void propagateBackward(int x, Set<Integer> changed) {
+        PriorityQueue<Integer> queue = new PriorityQueue<>((a, b) -> Integer.compare(position[b], position[a]));
+        int mark = nextEpoch();
+        queue.add(x);
+        queued[x] = mark;
+        while (!queue.isEmpty()) {
+            int i = queue.poll();
+            if (!updateLatest(i, changed)) continue;
+            for (int k = graph.predecessorStart(i); k < graph.predecessorEnd(i); k++) {
+                int p = graph.predecessorAt(k);
+                if (queued[p] != mark) {
+                    queued[p] = mark;
+                    queue.add(p);
+                }
+            }
+        }
+    }
+
+    private int nextEpoch() {
+        if (++epoch == 0) {
+            // wrapped after 2^32 propagations: forget the old marks once
+            Arrays.fill(queued, 0);
+            epoch = 1;
+        }
+        return epoch;
+    }
+
+    private void backwardPass(Set<Integer> changed) {
+        int[] order = project.topologicalOrder();
+        for (int o = order.length - 1; o >= 0; o--) {
+            updateLatest(order[o], changed);
+        }
+    }
+
+    // returns true if the latest start of task i changed
+    private boolean updateLatest(int i, Set<Integer> changed) {
+        long lf = finish;
+        for (int k = graph.successorStart(i); k < graph.successorEnd(i); k++) {
+            lf = Math.min(lf, latestStart[graph.successorAt(k)]);
+        }
+        long ls = lf - (end[i] - start[i]);
+        latestFinish[i] = lf;
+        if (ls == latestStart[i]) return false;
+        latestStart[i] = ls;
+        changed.add(graph.taskId(i));
+        return true;
+    }
+
+    private void fire(ScheduleChange change) {
+        for (ScheduleListener listener : listeners) {
+            listener.scheduleChanged(change);
+        }
+    }
+}
@@ -26,12 +26,16 @@ public class Task {
 
     // parameterized constructor
     public Task(int id, String title, String start, String end) {
-        this.id = id;
-        this.title = title;
         // Parse time strings using the defined formatter
-        this.startTime = LocalDateTime.parse(start.trim(), Formater);
-        this.endTime = LocalDateTime.parse(end.trim(), Formater);
+        this(id, title, LocalDateTime.parse(start.trim(), Formater), LocalDateTime.parse(end.trim(), Formater));
+    }
 
+    // typed constructor for loaders that already have the times (no string round trip)
+    public Task(int id, String title, LocalDateTime start, LocalDateTime end) {
+        this.id = id;
+        this.title = title;
+        this.startTime = start;
+        this.endTime = end;
     }
     public double getDurationInHours() {
         Duration d = Duration.between(startTime, endTime); // time difference of start time and end time
@@ -0,0 +1,271 @@
+package com.mycompany.projectplanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Byte level parser for Tasks.txt and Resources.txt. Lines are scanned in place
+ * inside a ByteBuffer: ids, percentages and the fixed yyyyMMdd+HHmm timestamps
+ * are read straight from the bytes, so the only strings created are titles and
+ * resource names. Produces the same results and warnings as the split based
+ * parser it replaces.
+ */
+public class TaskFileScanner {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // length of yyyyMMdd+HHmm
+    private static final int TIMESTAMP_LENGTH = 13;
+
+    interface LineHandler {
+        void line(ByteBuffer buf, int from, int to);
+    }
+
+    public static Map<Integer, List<Integer>> scanTasksFile(File tasksFile, Project project) throws IOException {
+        Map<Integer, List<Integer>> dependencyMap = new HashMap<>();
+        forEachLine(tasksFile, (buf, from, to) -> parseTaskLine(buf, from, to, project::addTask, dependencyMap));
+        return dependencyMap;
+    }
+
+    public static Map<Resource, Map<Integer, Integer>> scanResourcesFile(File resourcesFile) throws IOException {
+        Map<Resource, Map<Integer, Integer>> map = new LinkedHashMap<>();
+        forEachLine(resourcesFile, (buf, from, to) -> parseResourceLine(buf, from, to, map));
+        return map;
+    }
+
+    // reads the file through a reusable buffer and hands every line to the handler
+    static void forEachLine(File file, LineHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+            int scanned = 0;
+            while (true) {
+                int read = channel.read(buf);
+                int limit = buf.position();
+                int lineStart = 0;
+                for (int i = scanned; i < limit; i++) {
+                    if (buf.get(i) == '\n') {
+                        handler.line(buf, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+                if (read < 0) {
+                    if (lineStart < limit) handler.line(buf, lineStart, limit);
+                    return;
+                }
+
+                // keep the unfinished line at the front of the buffer
+                buf.flip();
+                buf.position(lineStart);
+                buf.compact();
+                scanned = buf.position();
+                if (!buf.hasRemaining()) {
+                    ByteBuffer bigger = ByteBuffer.allocate(buf.capacity() * 2);
+                    buf.flip();
+                    bigger.put(buf);
+                    buf = bigger;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses one Tasks.txt line: ID, Title, Start, End, Dependencies...
+     * Comments, blank lines and lines with fewer than four fields are ignored,
+     * lines with a bad id or timestamp are skipped with a warning.
+     */
+    static void parseTaskLine(ByteBuffer buf, int from, int to,
+                              Consumer<Task> tasks, Map<Integer, List<Integer>> dependencyMap) {
+        from = trimStart(buf, from, to);
+        to = trimEnd(buf, from, to);
+        if (from == to || buf.get(from) == '#') return;
+
+        int c1 = indexOf(buf, ',', from, to);
+        int c2 = c1 < 0 ? -1 : indexOf(buf, ',', c1 + 1, to);
+        int c3 = c2 < 0 ? -1 : indexOf(buf, ',', c2 + 1, to);
+        // split drops trailing empty fields, so "a, b, c," only has three
+        if (c3 < 0 || onlyCommas(buf, c3 + 1, to)) return;
+        int c4 = indexOf(buf, ',', c3 + 1, to);
+        int endOfEnd = c4 < 0 ? to : c4;
+
+        try {
+            int id = parseInt(buf, from, c1);
+            String title = decode(buf, trimStart(buf, c1 + 1, c2), trimEnd(buf, c1 + 1, c2));
+            LocalDateTime start = parseTimestamp(buf, c2 + 1, c3);
+            LocalDateTime end = parseTimestamp(buf, c3 + 1, endOfEnd);
+            tasks.accept(new Task(id, title, start, end));
+
+            List<Integer> deps = new ArrayList<>();
+            // dependencies are separated by whitespace or commas
+            int i = endOfEnd;
+            while (i < to) {
+                while (i < to && isSeparator(buf.get(i))) i++;
+                int tokenStart = i;
+                while (i < to && !isSeparator(buf.get(i))) i++;
+                if (i > tokenStart) deps.add(parseInt(buf, tokenStart, i));
+            }
+            dependencyMap.put(id, deps);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            System.err.println("Skipping invalid task line: " + decode(buf, from, to) + ". Error: " + e.getMessage());
+        }
+    }
+
+    /** Parses one Resources.txt line: ResourceName, TaskId:Percentage, ... */
+    static void parseResourceLine(ByteBuffer buf, int from, int to, Map<Resource, Map<Integer, Integer>> map) {
+        from = trimStart(buf, from, to);
+        to = trimEnd(buf, from, to);
+        if (from == to || buf.get(from) == '#' || onlyCommas(buf, from, to)) return;
+
+        int comma = indexOf(buf, ',', from, to);
+        int nameEnd = comma < 0 ? to : comma;
+        Resource r = new Resource(decode(buf, from, nameEnd));
+        Map<Integer, Integer> tmp = new LinkedHashMap<>();
+
+        int i = nameEnd;
+        while (i < to) {
+            int tokenStart = i + 1;
+            int tokenEnd = indexOf(buf, ',', tokenStart, to);
+            if (tokenEnd < 0) tokenEnd = to;
+            i = tokenEnd;
+
+            int s = trimStart(buf, tokenStart, tokenEnd);
+            int e = trimEnd(buf, s, tokenEnd);
+            if (s == e) continue;
+            // split(":") drops trailing empty parts, then exactly two must remain
+            int valueEnd = e;
+            while (valueEnd > s && buf.get(valueEnd - 1) == ':') valueEnd--;
+            int colon = indexOf(buf, ':', s, valueEnd);
+            if (colon < 0 || indexOf(buf, ':', colon + 1, valueEnd) >= 0) continue;
+            try {
+                int tid = parseInt(buf, s, colon);
+                int pct = parseInt(buf, colon + 1, valueEnd);
+                tmp.put(tid, pct);
+            } catch (NumberFormatException ex) {
+                System.err.println("Skipping invalid allocation token: " + decode(buf, s, e));
+            }
+        }
+        map.put(r, tmp);
+    }
+
+    // Integer.parseInt over trimmed bytes, without building a string
+    static int parseInt(ByteBuffer buf, int from, int to) {
+        from = trimStart(buf, from, to);
+        to = trimEnd(buf, from, to);
+        if (from == to) {
+            throw new NumberFormatException("For input string: \"\"");
+        }
+        boolean negative = false;
+        int i = from;
+        byte first = buf.get(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+            if (i == to) throw invalidNumber(buf, from, to);
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) throw invalidNumber(buf, from, to);
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) throw invalidNumber(buf, from, to);
+        }
+        if (negative) value = -value;
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) throw invalidNumber(buf, from, to);
+        return (int) value;
+    }
+
+    // reads yyyyMMdd+HHmm, resolving days past the month end like the SMART formatter does
+    static LocalDateTime parseTimestamp(ByteBuffer buf, int from, int to) {
+        from = trimStart(buf, from, to);
+        to = trimEnd(buf, from, to);
+        if (to - from != TIMESTAMP_LENGTH || buf.get(from + 8) != '+') {
+            throw invalidTimestamp(buf, from, to, null);
+        }
+        int year = digits(buf, from, 4);
+        int month = digits(buf, from + 4, 2);
+        int day = digits(buf, from + 6, 2);
+        int hour = digits(buf, from + 9, 2);
+        int minute = digits(buf, from + 11, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            throw invalidTimestamp(buf, from, to, null);
+        }
+        try {
+            int lastDay = Month.of(month).length(Year.isLeap(year));
+            return LocalDateTime.of(year, month, Math.min(day, lastDay), hour, minute);
+        } catch (DateTimeException e) {
+            throw invalidTimestamp(buf, from, to, e);
+        }
+    }
+
+    // value of count ASCII digits, or -1 if any byte is not a digit
+    private static int digits(ByteBuffer buf, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static NumberFormatException invalidNumber(ByteBuffer buf, int from, int to) {
+        return new NumberFormatException("For input string: \"" + decode(buf, from, to) + "\"");
+    }
+
+    private static DateTimeParseException invalidTimestamp(ByteBuffer buf, int from, int to, Throwable cause) {
+        String text = decode(buf, from, to);
+        return new DateTimeParseException("Text '" + text + "' could not be parsed", text, 0, cause);
+    }
+
+    static String decode(ByteBuffer buf, int from, int to) {
+        if (buf.hasArray()) {
+            return new String(buf.array(), buf.arrayOffset() + from, to - from, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int indexOf(ByteBuffer buf, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf.get(i) == c) return i;
+        }
+        return -1;
+    }
+
+    // same whitespace rule as String.trim()
+    static int trimStart(ByteBuffer buf, int from, int to) {
+        while (from < to && (buf.get(from) & 0xff) <= ' ') from++;
+        return from;
+    }
+
+    static int trimEnd(ByteBuffer buf, int from, int to) {
+        while (to > from && (buf.get(to - 1) & 0xff) <= ' ') to--;
+        return to;
+    }
+
+    private static boolean onlyCommas(ByteBuffer buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf.get(i) != ',') return false;
+        }
+        return true;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ',' || b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == 0x0B || b == '\f';
+    }
+}
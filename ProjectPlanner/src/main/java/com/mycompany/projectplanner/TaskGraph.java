@@ -0,0 +1,190 @@
+package com.mycompany.projectplanner;
+
+import java.util.Arrays;
+
+/**
+ * Read-only snapshot of a project's dependency graph using dense int indices.
+ * Index i is the i-th task in Project.tasksById order. Predecessors (the tasks
+ * a task depends on) and successors are stored as CSR arrays, so analyses can
+ * walk the graph with plain int loops:
+ *
+ * <pre>
+ * for (int k = graph.predecessorStart(i); k &lt; graph.predecessorEnd(i); k++) {
+ *     int dep = graph.predecessorAt(k);
+ * }
+ * </pre>
+ *
+ * Instances are built by Project.graph() and rebuilt when tasks or edges are
+ * added or removed. Date edits only patch the start/end minutes of the task.
+ */
+public class TaskGraph {
+
+    final int modCount;
+
+    private final Task[] tasks;
+    private final long[] startMinutes;
+    private final long[] endMinutes;
+
+    // task ids sorted ascending, with the index of each id alongside
+    private final int[] sortedIds;
+    private final int[] sortedIndices;
+
+    private final int[] predecessorOffsets;
+    private final int[] predecessors;
+    private final int[] successorOffsets;
+    private final int[] successors;
+
+    private TaskGraph(int modCount, Task[] tasks, long[] startMinutes, long[] endMinutes,
+                      int[] sortedIds, int[] sortedIndices,
+                      int[] predecessorOffsets, int[] predecessors,
+                      int[] successorOffsets, int[] successors) {
+        this.modCount = modCount;
+        this.tasks = tasks;
+        this.startMinutes = startMinutes;
+        this.endMinutes = endMinutes;
+        this.sortedIds = sortedIds;
+        this.sortedIndices = sortedIndices;
+        this.predecessorOffsets = predecessorOffsets;
+        this.predecessors = predecessors;
+        this.successorOffsets = successorOffsets;
+        this.successors = successors;
+    }
+
+    static TaskGraph build(Project project, int modCount) {
+        int n = project.tasksById.size();
+        Task[] tasks = project.tasksById.values().toArray(new Task[0]);
+        long[] startMinutes = new long[n];
+        long[] endMinutes = new long[n];
+        for (int i = 0; i < n; i++) {
+            startMinutes[i] = BinarySnapshotRepository.epochMinutes(tasks[i].startTime);
+            endMinutes[i] = BinarySnapshotRepository.epochMinutes(tasks[i].endTime);
+        }
+
+        // sort indices by id with a packed long sort to avoid boxing
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) tasks[i].id << 32) | i;
+        }
+        Arrays.sort(packed);
+        int[] sortedIds = new int[n];
+        int[] sortedIndices = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortedIds[i] = (int) (packed[i] >> 32);
+            sortedIndices[i] = (int) packed[i];
+        }
+
+        // predecessors from Task.dependencies; edges to tasks outside the project are skipped
+        int[] predecessorOffsets = new int[n + 1];
+        int[] scratch = new int[16];
+        int edgeCount = 0;
+        for (int i = 0; i < n; i++) {
+            for (Task dep : tasks[i].dependencies) {
+                if (indexIn(sortedIds, sortedIndices, tasks, dep) >= 0) edgeCount++;
+            }
+            predecessorOffsets[i + 1] = edgeCount;
+        }
+        int[] predecessors = new int[edgeCount];
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            for (Task dep : tasks[i].dependencies) {
+                int j = indexIn(sortedIds, sortedIndices, tasks, dep);
+                if (j >= 0) predecessors[pos++] = j;
+            }
+        }
+
+        // successors are the transpose of the predecessor arrays
+        int[] successorOffsets = new int[n + 1];
+        for (int p : predecessors) successorOffsets[p + 1]++;
+        for (int i = 0; i < n; i++) successorOffsets[i + 1] += successorOffsets[i];
+        int[] successors = new int[edgeCount];
+        int[] fill = Arrays.copyOf(successorOffsets, n);
+        for (int i = 0; i < n; i++) {
+            for (int k = predecessorOffsets[i]; k < predecessorOffsets[i + 1]; k++) {
+                successors[fill[predecessors[k]]++] = i;
+            }
+        }
+
+        return new TaskGraph(modCount, tasks, startMinutes, endMinutes, sortedIds, sortedIndices,
+            predecessorOffsets, predecessors, successorOffsets, successors);
+    }
+
+    // a task's dates were edited or its object replaced; the edges stay the same
+    void updateTask(Task task) {
+        int index = indexOf(task.id);
+        if (index < 0) return;
+        tasks[index] = task;
+        startMinutes[index] = BinarySnapshotRepository.epochMinutes(task.startTime);
+        endMinutes[index] = BinarySnapshotRepository.epochMinutes(task.endTime);
+    }
+
+    // index of the given task object, or -1 if it is not part of this graph
+    private static int indexIn(int[] sortedIds, int[] sortedIndices, Task[] tasks, Task task) {
+        int k = Arrays.binarySearch(sortedIds, task.id);
+        if (k < 0) return -1;
+        int i = sortedIndices[k];
+        return tasks[i] == task ? i : -1;
+    }
+
+    public int size() {
+        return tasks.length;
+    }
+
+    public int edgeCount() {
+        return predecessors.length;
+    }
+
+    public Task task(int index) {
+        return tasks[index];
+    }
+
+    public int taskId(int index) {
+        return tasks[index].id;
+    }
+
+    /** Index of the task with the given id, or -1 */
+    public int indexOf(int taskId) {
+        int k = Arrays.binarySearch(sortedIds, taskId);
+        return k < 0 ? -1 : sortedIndices[k];
+    }
+
+    /** Start and end as minutes since the epoch (UTC) */
+    public long startMinute(int index) {
+        return startMinutes[index];
+    }
+
+    public long endMinute(int index) {
+        return endMinutes[index];
+    }
+
+    public int predecessorStart(int index) {
+        return predecessorOffsets[index];
+    }
+
+    public int predecessorEnd(int index) {
+        return predecessorOffsets[index + 1];
+    }
+
+    public int predecessorAt(int position) {
+        return predecessors[position];
+    }
+
+    public int predecessorCount(int index) {
+        return predecessorOffsets[index + 1] - predecessorOffsets[index];
+    }
+
+    public int successorStart(int index) {
+        return successorOffsets[index];
+    }
+
+    public int successorEnd(int index) {
+        return successorOffsets[index + 1];
+    }
+
+    public int successorAt(int position) {
+        return successors[position];
+    }
+
+    public int successorCount(int index) {
+        return successorOffsets[index + 1] - successorOffsets[index];
+    }
+}
@@ -0,0 +1,176 @@
+package com.mycompany.projectplanner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Interval tree over task start/end times in epoch minutes. It is a treap
+ * ordered by (start, id) where every node also stores the largest end time in
+ * its subtree, so a query skips any subtree that ends before the window.
+ * Inserts and removals take expected O(log n); window and stabbing queries
+ * take O(log n + k) for k matches.
+ *
+ * Windows are half open: a task [start, end) is active in [from, to) when
+ * start &lt; to and end &gt; from, which matches Task.overLapsWith.
+ */
+public class TaskIntervalIndex {
+
+    private static class Node {
+        final Task task;
+        final int id;
+        final long start;
+        final long end;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(Task task, int priority) {
+            this.task = task;
+            this.id = task.id;
+            this.start = BinarySnapshotRepository.epochMinutes(task.startTime);
+            this.end = BinarySnapshotRepository.epochMinutes(task.endTime);
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            long m = end;
+            if (left != null && left.maxEnd > m) m = left.maxEnd;
+            if (right != null && right.maxEnd > m) m = right.maxEnd;
+            maxEnd = m;
+        }
+
+        int compareTo(long otherStart, int otherId) {
+            if (start != otherStart) return start < otherStart ? -1 : 1;
+            return Integer.compare(id, otherId);
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom(0x5eed);
+    // node of every indexed task, holding the times it was indexed with
+    private final Map<Integer, Node> nodesById = new HashMap<>();
+    private Node root;
+
+    public TaskIntervalIndex() {
+    }
+
+    public TaskIntervalIndex(Iterable<Task> tasks) {
+        for (Task t : tasks) put(t);
+    }
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    /** Adds the task, or re-indexes it if a task with its id is already present */
+    public void put(Task task) {
+        remove(task.id);
+        Node node = new Node(task, random.nextInt());
+        root = insert(root, node);
+        nodesById.put(task.id, node);
+    }
+
+    public boolean remove(int taskId) {
+        Node node = nodesById.remove(taskId);
+        if (node == null) return false;
+        root = delete(root, node.start, node.id);
+        return true;
+    }
+
+    /** Calls the visitor for every task active somewhere in [from, to), in start order */
+    public void forEachInWindow(long from, long to, Consumer<Task> visitor) {
+        if (from < to) visit(root, from, to, visitor);
+    }
+
+    /** Calls the visitor for every task active at the given minute */
+    public void forEachAt(long minute, Consumer<Task> visitor) {
+        visit(root, minute, minute + 1, visitor);
+    }
+
+    public List<Task> tasksInWindow(LocalDateTime from, LocalDateTime to) {
+        List<Task> result = new ArrayList<>();
+        forEachInWindow(BinarySnapshotRepository.epochMinutes(from), BinarySnapshotRepository.epochMinutes(to), result::add);
+        return result;
+    }
+
+    public List<Task> tasksAt(LocalDateTime time) {
+        List<Task> result = new ArrayList<>();
+        forEachAt(BinarySnapshotRepository.epochMinutes(time), result::add);
+        return result;
+    }
+
+    private static void visit(Node node, long from, long to, Consumer<Task> visitor) {
+        // nothing below ends after the window starts
+        if (node == null || node.maxEnd <= from) return;
+        visit(node.left, from, to, visitor);
+        // right subtree and this node start too late
+        if (node.start >= to) return;
+        if (node.end > from && node.start < node.end) visitor.accept(node.task);
+        visit(node.right, from, to, visitor);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) return added;
+        if (added.compareTo(node.start, node.id) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) node = rotateLeft(node);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node delete(Node node, long start, int id) {
+        if (node == null) return null;
+        int c = node.compareTo(start, id);
+        if (c > 0) {
+            node.left = delete(node.left, start, id);
+        } else if (c < 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    // joins two treaps where every key in left is smaller than every key in right
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node l = node.left;
+        node.left = l.right;
+        l.right = node;
+        node.update();
+        l.update();
+        return l;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node r = node.right;
+        node.right = r.left;
+        r.left = node;
+        node.update();
+        r.update();
+        return r;
+    }
+}
@@ -0,0 +1,115 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JButton;
+import javax.swing.SwingUtilities;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BackgroundTaskBarTest {
+
+    @Test
+    void testResultIsDeliveredOnEventDispatchThread() throws Exception {
+        AtomicReference<BackgroundTaskBar> bar = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> bar.set(new BackgroundTaskBar()));
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean workOnEdt = new AtomicBoolean(true);
+        AtomicBoolean resultOnEdt = new AtomicBoolean(false);
+        AtomicReference<String> result = new AtomicReference<>();
+
+        SwingUtilities.invokeAndWait(() -> assertTrue(bar.get().run("Test", progress -> {
+            workOnEdt.set(SwingUtilities.isEventDispatchThread());
+            progress.update(50);
+            return "value";
+        }, value -> {
+            resultOnEdt.set(SwingUtilities.isEventDispatchThread());
+            result.set(value);
+            done.countDown();
+        }, e -> done.countDown())));
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertFalse(workOnEdt.get());
+        assertTrue(resultOnEdt.get());
+        assertEquals("value", result.get());
+        SwingUtilities.invokeAndWait(() -> assertFalse(bar.get().isBusy()));
+    }
+
+    @Test
+    void testCancelledWorkNeverDeliversAndBlocksSecondTask() throws Exception {
+        AtomicReference<BackgroundTaskBar> bar = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> bar.set(new BackgroundTaskBar()));
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean delivered = new AtomicBoolean(false);
+
+        SwingUtilities.invokeAndWait(() -> bar.get().run("Slow", progress -> {
+            started.countDown();
+            while (!progress.isCancelled()) Thread.sleep(5);
+            return "late";
+        }, value -> delivered.set(true), e -> delivered.set(true)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        SwingUtilities.invokeAndWait(() -> {
+            assertTrue(bar.get().isBusy());
+            assertFalse(bar.get().run("Second", progress -> "x", value -> { }, e -> { }));
+            bar.get().cancel();
+        });
+        awaitIdle(bar.get());
+        assertFalse(delivered.get());
+    }
+
+    @Test
+    void testStaysBusyUntilCancelledWorkReturns() throws Exception {
+        AtomicReference<BackgroundTaskBar> bar = new AtomicReference<>();
+        AtomicReference<JButton> button = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            bar.set(new BackgroundTaskBar());
+            button.set(new JButton("Save"));
+            bar.get().disableWhileBusy(button.get());
+        });
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        // stands in for a JDBC call that does not answer interrupts
+        SwingUtilities.invokeAndWait(() -> bar.get().run("Stuck", progress -> {
+            started.countDown();
+            while (true) {
+                try {
+                    if (release.await(10, TimeUnit.SECONDS)) return "late";
+                } catch (InterruptedException e) {
+                    // ignored on purpose
+                }
+            }
+        }, value -> { }, e -> { }, () -> cancelled.set(true)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        SwingUtilities.invokeAndWait(() -> bar.get().cancel());
+        SwingUtilities.invokeAndWait(() -> { });
+        SwingUtilities.invokeAndWait(() -> {
+            assertTrue(bar.get().isBusy());
+            assertFalse(button.get().isEnabled());
+            assertFalse(bar.get().run("Second", progress -> "x", value -> { }, e -> { }));
+            assertFalse(cancelled.get());
+        });
+
+        release.countDown();
+        awaitIdle(bar.get());
+        assertTrue(cancelled.get());
+        SwingUtilities.invokeAndWait(() -> assertTrue(button.get().isEnabled()));
+    }
+
+    private static void awaitIdle(BackgroundTaskBar bar) throws Exception {
+        AtomicBoolean busy = new AtomicBoolean(true);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (busy.get() && System.nanoTime() < deadline) {
+            SwingUtilities.invokeAndWait(() -> busy.set(bar.isBusy()));
+            if (busy.get()) Thread.sleep(5);
+        }
+        assertFalse(busy.get());
+    }
+}
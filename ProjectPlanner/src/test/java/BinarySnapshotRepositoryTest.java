@@ -0,0 +1,78 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinarySnapshotRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSnapshotRoundTrip() throws Exception {
+        Project project = SyntheticProjects.create(3000, 40, 9);
+        project.setName("Snapshot ü");
+        BinarySnapshotRepository repository = new BinarySnapshotRepository(dir.resolve("p.snapshot").toString());
+        repository.saveProject(project);
+
+        Project loaded = repository.loadProject();
+        assertEquals("Snapshot ü", loaded.getName());
+        assertEquals(new ArrayList<>(project.tasksById.keySet()), new ArrayList<>(loaded.tasksById.keySet()));
+        for (Task t : project.getTasks()) {
+            Task l = loaded.getTaskById(t.id);
+            assertEquals(t.title, l.title);
+            assertEquals(t.startTime, l.startTime);
+            assertEquals(t.endTime, l.endTime);
+            assertEquals(ids(t.dependencies), ids(l.dependencies));
+            assertEquals(ids(t.children), ids(l.children));
+            assertEquals(project.teamForTask(t.id), loaded.teamForTask(t.id));
+        }
+        assertEquals("Snapshot ü", repository.getAllProjects().get(0).projectName);
+    }
+
+    @Test
+    void testSingleEntityUpdatesKeepAllocationsAndDependencies() throws Exception {
+        BinarySnapshotRepository repository = new BinarySnapshotRepository(dir.resolve("p.snapshot").toString());
+        Project project = TestDatabase.sampleProject("Edits");
+        repository.saveProject(project);
+
+        // the caller's objects belong to the caller's project, not to the loaded one
+        Task task4 = new Task(4, "Review", "20251103+0800", "20251107+1800");
+        project.addTask(task4);
+        project.addDependency(task4, project.getTaskById(2));
+        repository.updateTask(task4, project.getProjectId());
+        Resource ahmed = project.getResources().get(0);
+        ahmed.addAllocations(task4, 25);
+        repository.updateResource(ahmed, project.getProjectId());
+
+        assertSame(project, ahmed.project);
+        assertEquals(1, task4.dependencies.size());
+        Project loaded = repository.loadProject();
+        assertEquals(List.of(2), ids(loaded.getTaskById(4).dependencies));
+        assertEquals(List.of("Ahmed (50%)"), loaded.teamForTask(1));
+        assertEquals(List.of("Ahmed (100%)"), loaded.teamForTask(3));
+        assertEquals(List.of("Ahmed (25%)"), loaded.teamForTask(4));
+        assertEquals(List.of("Ayesha (50%)"), loaded.teamForTask(2));
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws Exception {
+        Path file = dir.resolve("Tasks.txt");
+        Files.writeString(file, "1, Task, 20250915+0800, 20251010+1800");
+        assertThrows(IOException.class, () -> new BinarySnapshotRepository(file.toString()).loadProject());
+    }
+
+    private static List<Integer> ids(List<Task> tasks) {
+        List<Integer> ids = new ArrayList<>();
+        for (Task t : tasks) ids.add(t.id);
+        return ids;
+    }
+}
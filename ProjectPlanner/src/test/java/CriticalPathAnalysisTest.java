@@ -0,0 +1,90 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CriticalPathAnalysisTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 3, 8, 0);
+
+    private static Task task(Project project, int id, int startHour, int hours) {
+        Task t = new Task(id, "T" + id, BASE.plusHours(startHour), BASE.plusHours(startHour + hours));
+        project.addTask(t);
+        return t;
+    }
+
+    private static List<Integer> ids(List<Task> tasks) {
+        return tasks.stream().map(t -> t.id).collect(Collectors.toList());
+    }
+
+    @Test
+    void testForwardAndBackwardPass() {
+        // 1 -> 2 -> 4 and 1 -> 3 -> 4, with 3 shorter than 2
+        Project project = new Project();
+        Task t1 = task(project, 1, 0, 4);
+        Task t2 = task(project, 2, 4, 10);
+        Task t3 = task(project, 3, 4, 2);
+        Task t4 = task(project, 4, 14, 3);
+        project.addDependency(t2, t1);
+        project.addDependency(t3, t1);
+        project.addDependency(t4, t2);
+        project.addDependency(t4, t3);
+
+        CriticalPathAnalysis cpm = project.criticalPathAnalysis();
+        TaskGraph graph = cpm.getGraph();
+        int i3 = graph.indexOf(3);
+
+        assertEquals(BASE.plusHours(17), cpm.projectFinish());
+        assertEquals(List.of(1, 2, 4), ids(cpm.criticalPath()));
+        assertEquals(List.of(1, 2, 4), ids(cpm.criticalTasks()));
+        assertFalse(cpm.isCritical(t3));
+        assertEquals(8 * 60, cpm.totalFloat(i3));
+        assertEquals(8 * 60, cpm.freeFloat(i3));
+        assertEquals(BASE.plusHours(12), cpm.latestStartTime(i3));
+    }
+
+    @Test
+    void testLateStartConstraintAndFreeFloat() {
+        // 2 cannot start before hour 10 although 1 finishes at hour 2
+        Project project = new Project();
+        Task t1 = task(project, 1, 0, 2);
+        Task t2 = task(project, 2, 10, 5);
+        Task t3 = task(project, 3, 0, 1);
+        Task t4 = task(project, 4, 0, 1);
+        project.addDependency(t2, t1);
+        project.addDependency(t4, t3);
+
+        CriticalPathAnalysis cpm = project.criticalPathAnalysis();
+        TaskGraph graph = cpm.getGraph();
+
+        assertEquals(BASE.plusHours(15), cpm.projectFinish());
+        assertEquals(List.of(2), ids(cpm.criticalPath()));
+        assertEquals(8 * 60, cpm.freeFloat(graph.indexOf(1)));
+        assertEquals(13 * 60, cpm.totalFloat(graph.indexOf(3)));
+        assertEquals(0, cpm.freeFloat(graph.indexOf(3)));
+        assertEquals(13 * 60, cpm.freeFloat(graph.indexOf(4)));
+    }
+
+    @Test
+    void testCycleIsRejected() {
+        Project project = new Project();
+        Task t1 = task(project, 1, 0, 1);
+        Task t2 = task(project, 2, 1, 1);
+        project.addDependency(t2, t1);
+        project.addDependency(t1, t2);
+
+        assertThrows(DependencyCycleException.class, project::criticalPathAnalysis);
+    }
+
+    @Test
+    void testEmptyProject() {
+        CriticalPathAnalysis cpm = new Project().criticalPathAnalysis();
+        assertNull(cpm.projectFinish());
+        assertTrue(cpm.criticalPath().isEmpty());
+    }
+}
@@ -0,0 +1,52 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Forward/backward CPM passes on large synthetic plans
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CriticalPathBenchmark {
+
+    @Param({"100000", "500000"})
+    public int taskCount;
+
+    private Project project;
+    private long shift = 30;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        project = SyntheticProjects.create(taskCount, 0, 23);
+        project.scheduleEngine().projectFinish();
+    }
+
+    @Benchmark
+    public CriticalPathAnalysis analyze() {
+        return project.criticalPathAnalysis();
+    }
+
+    // includes rebuilding the index graph, as after an edge is added or removed
+    @Benchmark
+    public CriticalPathAnalysis analyzeAfterChange() {
+        Task task = project.getTaskById(2);
+        Task dep = task.dependencies.get(0);
+        project.removeDependency(task, dep);
+        project.addDependency(task, dep);
+        return project.criticalPathAnalysis();
+    }
+
+    // one date edit in the middle of the plan through the incremental engine
+    @Benchmark
+    public LocalDateTime incrementalEdit() {
+        Task task = project.getTaskById(taskCount / 2);
+        task.endTime = task.endTime.plusMinutes(shift = -shift);
+        project.taskChanged(task);
+        return project.scheduleEngine().projectFinish();
+    }
+}
@@ -0,0 +1,210 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseRepositoryTest {
+
+    private ConnectionPool pool;
+    private DatabaseRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = TestDatabase.createPool();
+        repository = new DatabaseRepository(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testSaveAndLoadRoundTrip() throws Exception {
+        Project saved = TestDatabase.sampleProject("Round Trip");
+        repository.saveProject(saved);
+
+        Project loaded = repository.loadProject(saved.getProjectId());
+        assertEquals("Round Trip", loaded.getName());
+        assertEquals(3, loaded.getTasks().size());
+        assertEquals(saved.getTaskById(2).startTime, loaded.getTaskById(2).startTime);
+        assertEquals(1, loaded.getTaskById(2).dependencies.get(0).id);
+        assertEquals(2, loaded.getResources().size());
+        assertEquals(2, loaded.teamForTask(1).size() + loaded.teamForTask(2).size());
+    }
+
+    @Test
+    void testIncrementalSaveWritesOnlyChanges() throws Exception {
+        repository.saveProject(TestDatabase.sampleProject("Incremental"));
+        Project project = repository.loadProject(repository.getAllProjects().get(0).projectId);
+        assertTrue(project.isTrackingChanges());
+
+        // edit one title, drop a task, add a task with an edge and reallocate a resource
+        project.getTaskById(1).title = "Research (revised)";
+        project.taskChanged(project.getTaskById(1));
+        project.removeTask(3);
+        Task t4 = new Task(4, "Rollout", "20251103+0900", "20251215+1700");
+        project.addTask(t4);
+        project.addDependency(t4, project.getTaskById(2));
+        project.getResources().get(1).addAllocations(t4, 25);
+        assertEquals(Set.of(1, 4), project.getChangedTaskIds());
+        assertEquals(Set.of(3), project.getRemovedTaskIds());
+
+        repository.saveProject(project);
+        assertFalse(project.hasTrackedChanges());
+
+        Project loaded = repository.loadProject(project.getProjectId());
+        assertEquals("Research (revised)", loaded.getTaskById(1).title);
+        assertNull(loaded.getTaskById(3));
+        assertEquals(2, loaded.getTaskById(4).dependencies.get(0).id);
+        assertEquals(List.of("Ahmed (50%)"), loaded.teamForTask(1));
+        assertEquals(List.of("Ayesha (25%)"), loaded.teamForTask(4));
+    }
+
+    @Test
+    void testIncrementalSaveDoesNotTakeAnotherProjectsTask() throws Exception {
+        Project first = TestDatabase.sampleProject("First");
+        repository.saveProject(first);
+
+        Project second = new Project();
+        second.setName("Second");
+        second.addTask(new Task(10, "Own task", "20251013+0800", "20251017+1800"));
+        repository.saveProject(second);
+
+        // id 1 already belongs to the first project
+        second.addTask(new Task(1, "Colliding", "20251020+0800", "20251024+1800"));
+        assertThrows(Exception.class, () -> repository.saveProject(second));
+
+        Project reloaded = repository.loadProject(first.getProjectId());
+        assertEquals("Research", reloaded.getTaskById(1).title);
+        assertEquals(1, repository.loadProject(second.getProjectId()).getTaskCount());
+    }
+
+    @Test
+    void testBulkResourceSaveMapsIdsByName() throws Exception {
+        Project project = SyntheticProjects.create(50, 30, 1);
+        project.addResource(new Resource("Resource 1"));
+        project.getResources().get(30).addAllocations(project.getTaskById(7), 10);
+        repository.setBatchSize(7);
+        repository.saveProject(project);
+
+        Project loaded = repository.loadProject(project.getProjectId());
+        assertEquals(31, loaded.getResources().size());
+        for (int i = 0; i < 31; i++) {
+            Resource expected = project.getResources().get(i);
+            Resource actual = loaded.getResources().get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getAllocations().size(), actual.getAllocations().size());
+        }
+        assertEquals(10, loaded.getResources().get(30).getAllocations().get(loaded.getTaskById(7)));
+    }
+
+    @Test
+    void testStreamedLoadMatchesFullLoad() throws Exception {
+        Project project = SyntheticProjects.create(1000, 20, 3);
+        project.setName("Streamed");
+        // an edge to a task that arrives in the last chunk; task 1001 depends on
+        // nothing, so the graph stays acyclic
+        Task late = new Task(1001, "Late prerequisite", "20250106+0800", "20250106+1200");
+        project.addTask(late);
+        project.addDependency(project.getTaskById(5), late);
+        assertTrue(project.findDependencyCycles().isEmpty());
+        repository.saveProject(project);
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        repository.streamProject(project.getProjectId(), 300, chunk -> {
+            assertEquals(1001, chunk.getTotalTasks());
+            assertEquals(chunkSizes.size(), chunk.getIndex());
+            chunkSizes.add(chunk.getTasks().size());
+        });
+        assertEquals(List.of(300, 300, 300, 101), chunkSizes);
+
+        List<Integer> growth = new ArrayList<>();
+        Project streamed = repository.loadProject(project.getProjectId(), 300, p -> growth.add(p.getTaskCount()));
+        assertEquals(List.of(300, 600, 900, 1001), growth);
+        assertTrue(streamed.isTrackingChanges());
+
+        Project full = repository.loadProject(project.getProjectId());
+        assertEquals("Streamed", streamed.getName());
+        assertEquals(new ArrayList<>(full.tasksById.keySet()), new ArrayList<>(streamed.tasksById.keySet()));
+        assertEquals(full.getDependencyCount(), streamed.getDependencyCount());
+        for (Task t : full.getTasks()) {
+            Task s = streamed.getTaskById(t.id);
+            assertEquals(t.startTime, s.startTime);
+            assertEquals(ids(t.dependencies), ids(s.dependencies));
+            assertEquals(full.teamForTask(t.id), streamed.teamForTask(t.id));
+        }
+        assertTrue(ids(streamed.getTaskById(5).dependencies).contains(1001));
+        assertTrue(streamed.findDependencyCycles().isEmpty());
+    }
+
+    @Test
+    void testSingleQueryLoadMatchesPerTableLoad() throws Exception {
+        Project project = SyntheticProjects.create(500, 12, 11);
+        project.setName("One trip");
+        project.addResource(new Resource("Unallocated"));
+        repository.saveProject(project);
+
+        Project single = repository.loadProject(project.getProjectId());
+        Project perTable = repository.loadProjectPerTable(project.getProjectId());
+        assertEquals("One trip", single.getName());
+        assertTrue(single.isTrackingChanges());
+        assertEquals(new ArrayList<>(perTable.tasksById.keySet()), new ArrayList<>(single.tasksById.keySet()));
+        assertEquals(perTable.getDependencyCount(), single.getDependencyCount());
+        assertEquals(perTable.getResources().size(), single.getResources().size());
+        for (int r = 0; r < perTable.getResources().size(); r++) {
+            assertEquals(perTable.getResources().get(r).getName(), single.getResources().get(r).getName());
+        }
+        for (Task t : perTable.getTasks()) {
+            Task s = single.getTaskById(t.id);
+            assertEquals(t.title, s.title);
+            assertEquals(t.endTime, s.endTime);
+            assertEquals(ids(t.dependencies), ids(s.dependencies));
+            assertEquals(perTable.teamForTask(t.id), single.teamForTask(t.id));
+        }
+
+        assertThrows(Exception.class, () -> repository.loadProject(project.getProjectId() + 100));
+    }
+
+    @Test
+    void testStreamingAnEmptyProjectSendsOneChunk() throws Exception {
+        Project project = new Project();
+        project.setName("Empty");
+        project.addResource(new Resource("Idle"));
+        repository.saveProject(project);
+
+        Project streamed = repository.loadProject(project.getProjectId(), 50, p -> { });
+        assertEquals(0, streamed.getTaskCount());
+        assertEquals("Idle", streamed.getResources().get(0).getName());
+    }
+
+    private static Set<Integer> ids(List<Task> tasks) {
+        Set<Integer> ids = new HashSet<>();
+        for (Task t : tasks) ids.add(t.id);
+        return ids;
+    }
+
+    @Test
+    void testRepeatedCallsReuseConnections() throws Exception {
+        Project project = TestDatabase.sampleProject("Pooled");
+        for (int i = 0; i < 20; i++) {
+            repository.saveProject(project);
+            repository.loadProject(project.getProjectId());
+            assertTrue(repository.isAvailable());
+        }
+
+        PoolMetrics metrics = repository.getPoolMetrics();
+        assertEquals(0, metrics.activeConnections, "All connections should be returned to the pool.");
+        assertTrue(metrics.activeConnections + metrics.idleConnections <= DatabaseConfig.MAX_CONNECTIONS,
+            "The pool should never open more than its maximum.");
+        assertTrue(metrics.borrowCount >= 60, "Every call should borrow from the pool.");
+    }
+}
@@ -0,0 +1,61 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencyValidatorTest {
+
+    private static Project chain(int count) {
+        Project project = new Project();
+        for (int id = 1; id <= count; id++) {
+            project.addTask(new Task(id, "T" + id, "20250101+0800", "20250101+0900"));
+            if (id > 1) project.addDependency(project.getTaskById(id), project.getTaskById(id - 1));
+        }
+        return project;
+    }
+
+    @Test
+    void testReportsEveryCycle() {
+        Project project = chain(7);
+        // 2 -> 3 -> 4 -> 2, 6 <-> 7 and 5 on itself
+        project.addDependency(project.getTaskById(2), project.getTaskById(4));
+        project.addDependency(project.getTaskById(6), project.getTaskById(7));
+        project.addDependency(project.getTaskById(5), project.getTaskById(5));
+
+        List<List<Integer>> cycles = project.findDependencyCycles();
+        assertEquals(List.of(List.of(2, 3, 4), List.of(5), List.of(6, 7)), cycles);
+
+        DependencyCycleException e = assertThrows(DependencyCycleException.class, project::getTasksInDependencyOrder);
+        assertEquals(cycles, e.getCycles());
+    }
+
+    @Test
+    void testDeepChainDoesNotRecurse() {
+        Project project = chain(200_000);
+        assertTrue(project.findDependencyCycles().isEmpty());
+
+        project.addDependency(project.getTaskById(1), project.getTaskById(200_000));
+        List<List<Integer>> cycles = project.findDependencyCycles();
+        assertEquals(1, cycles.size());
+        assertEquals(200_000, cycles.get(0).size());
+    }
+
+    @Test
+    void testOrderIsCachedUntilEdited() {
+        Project project = chain(4);
+        project.addTask(new Task(0, "T0", "20250101+0800", "20250101+0900"));
+        project.addDependency(project.getTaskById(1), project.getTaskById(0));
+
+        assertEquals(List.of(0, 1, 2, 3, 4),
+                project.getTasksInDependencyOrder().stream().map(t -> t.id).collect(Collectors.toList()));
+        int[] order = project.topologicalOrder();
+        assertSame(order, project.topologicalOrder());
+
+        project.removeDependency(project.getTaskById(1), project.getTaskById(0));
+        assertNotSame(order, project.topologicalOrder());
+    }
+}
@@ -0,0 +1,218 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileDataRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private FileDataRepository repository(long compactBytes) {
+        return new FileDataRepository(dir.resolve("Tasks.txt").toString(), dir.resolve("Resources.txt").toString(), compactBytes);
+    }
+
+    @Test
+    void testEditsAreJournalledAndReplayed() throws Exception {
+        Project project = SyntheticProjects.create(500, 10, 51);
+        FileDataRepository repository = repository(ProjectJournal.DEFAULT_COMPACT_BYTES);
+        repository.saveProject(project);
+        byte[] tasksBefore = Files.readAllBytes(dir.resolve("Tasks.txt"));
+
+        Task first = project.getTasks().get(0);
+        LocalDateTime start = first.startTime.plusDays(3);
+        Task moved = new Task(first.id, "Moved\ttitle", start, start.plusHours(2));
+        moved.dependencies = new ArrayList<>(first.dependencies);
+        repository.updateTask(moved, 1);
+        repository.deleteTask(project.getTasks().get(1).id, 1);
+        Resource renamed = new Resource(project.getResources().get(0).getName());
+        renamed.addAllocations(first, 40);
+        repository.updateResource(renamed, 1);
+        repository.deleteResource(project.getResources().get(1).getName(), 1);
+        repository.flush();
+
+        // the text files are untouched until compaction
+        assertArrayEquals(tasksBefore, Files.readAllBytes(dir.resolve("Tasks.txt")));
+        assertTrue(Files.size(dir.resolve("Tasks.txt.journal")) > 0);
+
+        Project loaded = repository(ProjectJournal.DEFAULT_COMPACT_BYTES).loadProject();
+        assertEquals(499, loaded.getTaskCount());
+        assertEquals("Moved\ttitle", loaded.getTaskById(first.id).title);
+        assertEquals(start, loaded.getTaskById(first.id).startTime);
+        // dependencies survive a journalled date edit
+        assertEquals(ids(first.dependencies), ids(loaded.getTaskById(first.id).dependencies));
+        assertNull(loaded.getTaskById(project.getTasks().get(1).id));
+        assertTrue(loaded.teamForTask(first.id).contains(renamed.getName() + " (40%)"));
+        assertEquals(1, loaded.getResources().get(0).getAllocations().size());
+        assertEquals(9, loaded.getResourceCount());
+
+        // a full save folds the journal into the files
+        repository.saveProject(loaded);
+        assertFalse(Files.exists(dir.resolve("Tasks.txt.journal")));
+        repository.close();
+    }
+
+    @Test
+    void testTaskAddedWithDependencyThroughUpdateTask() throws Exception {
+        Project project = TestDatabase.sampleProject("Deps");
+        FileDataRepository repository = repository(ProjectJournal.DEFAULT_COMPACT_BYTES);
+        repository.saveProject(project);
+
+        Task review = new Task(4, "Review", "20251103+0800", "20251107+1800");
+        project.addTask(review);
+        project.addDependency(review, project.getTaskById(2));
+        project.addDependency(review, project.getTaskById(3));
+        repository.updateTask(review, 1);
+        // re-wire task 3 from task 1 to task 2
+        Task planning = new Task(3, "Planning", "20251013+0800", "20251017+1800");
+        planning.dependencies.add(project.getTaskById(2));
+        repository.updateTask(planning, 1);
+        repository.close();
+
+        Project loaded = repository(ProjectJournal.DEFAULT_COMPACT_BYTES).loadProject();
+        assertEquals(List.of(2, 3), ids(loaded.getTaskById(4).dependencies));
+        assertEquals(List.of(2), ids(loaded.getTaskById(3).dependencies));
+
+        // and after the journal is folded into the text files
+        FileDataRepository again = repository(ProjectJournal.DEFAULT_COMPACT_BYTES);
+        again.saveProject(loaded);
+        Project reloaded = again.loadProject();
+        assertEquals(List.of(2, 3), ids(reloaded.getTaskById(4).dependencies));
+        assertEquals(List.of(2), ids(reloaded.getTaskById(3).dependencies));
+        again.close();
+    }
+
+    @Test
+    void testCompactionAndTornTail() throws Exception {
+        Project project = SyntheticProjects.create(200, 5, 53);
+        FileDataRepository repository = repository(2048);
+        repository.saveProject(project);
+
+        List<Task> tasks = project.getTasks();
+        for (int round = 0; round < 5; round++) {
+            for (Task t : tasks) {
+                repository.updateTask(new Task(t.id, "R" + round, t.startTime, t.endTime), 1);
+            }
+        }
+        repository.close();
+        assertFalse(Files.exists(dir.resolve("Tasks.txt.journal.compacting")));
+        // at least one rotated log was folded into the text file
+        assertTrue(Files.readString(dir.resolve("Tasks.txt")).contains(", R"));
+
+        // half a record from a crash is ignored, and the next append starts a new line
+        Files.write(dir.resolve("Tasks.txt.journal"), "T\t999\tTo".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        FileDataRepository reopened = repository(ProjectJournal.DEFAULT_COMPACT_BYTES);
+        Project loaded = reopened.loadProject();
+        assertNull(loaded.getTaskById(999));
+        for (Task t : tasks) assertEquals("R4", loaded.getTaskById(t.id).title);
+
+        Task first = tasks.get(0);
+        reopened.updateTask(new Task(first.id, "After crash", first.startTime, first.endTime), 1);
+        reopened.close();
+        assertEquals("After crash", repository(ProjectJournal.DEFAULT_COMPACT_BYTES).loadProject().getTaskById(first.id).title);
+    }
+
+    @Test
+    void testSavedTextFormat() throws Exception {
+        Project project = new Project();
+        LocalDateTime base = LocalDateTime.of(2025, 9, 15, 8, 0);
+        Task a = new Task(1, "Design", base, base.plusHours(10));
+        Task b = new Task(2, "Büro", base.plusDays(1), base.plusDays(2).plusMinutes(5));
+        project.addTask(a);
+        project.addTask(b);
+        project.addDependency(b, a);
+        Resource r = new Resource("Ann");
+        r.addAllocations(a, 50);
+        r.addAllocations(b, 100);
+        project.addResource(r);
+
+        repository(ProjectJournal.DEFAULT_COMPACT_BYTES).saveProject(project);
+        String nl = System.lineSeparator();
+        assertEquals("# ID, Title, Start, End, Dependencies..." + nl
+                + "1, Design, 20250915+0800, 20250915+1800" + nl
+                + "2, Büro, 20250916+0800, 20250917+0805, 1" + nl,
+                Files.readString(dir.resolve("Tasks.txt")));
+        assertEquals("# ResourceName, TaskId:Percentage, ..." + nl + "Ann, 1:50, 2:100" + nl,
+                Files.readString(dir.resolve("Resources.txt")));
+    }
+
+    @Test
+    void testCrashAtAnySaveStepLeavesOldOrNewProject() throws Exception {
+        Project before = SyntheticProjects.create(300, 8, 57);
+        Project after = SyntheticProjects.create(120, 3, 59);
+        for (String step : List.of("tasks-written", "resources-written", "committed", "tasks-renamed")) {
+            repository(ProjectJournal.DEFAULT_COMPACT_BYTES).saveProject(before);
+
+            FileDataRepository crashing = repository(ProjectJournal.DEFAULT_COMPACT_BYTES);
+            crashing.setSaveFault(reached -> {
+                if (reached.equals(step)) throw new IOException("injected crash at " + reached);
+            });
+            assertThrows(IOException.class, () -> crashing.saveProject(after));
+
+            // a fresh repository sees one whole project, never a mix
+            Project loaded = repository(ProjectJournal.DEFAULT_COMPACT_BYTES).loadProject();
+            boolean committed = step.equals("committed") || step.equals("tasks-renamed");
+            Project expected = committed ? after : before;
+            assertEquals(expected.getTaskCount(), loaded.getTaskCount(), step);
+            assertEquals(expected.getResourceCount(), loaded.getResourceCount(), step);
+            assertFalse(Files.exists(dir.resolve("Tasks.txt.commit")), step);
+            assertFalse(Files.exists(dir.resolve("Tasks.txt.tmp")), step);
+            assertFalse(Files.exists(dir.resolve("Resources.txt.tmp")), step);
+        }
+    }
+
+    @Test
+    void testEditAppendedDuringSaveSurvives() throws Exception {
+        Project project = SyntheticProjects.create(200, 5, 61);
+        FileDataRepository repository = repository(ProjectJournal.DEFAULT_COMPACT_BYTES);
+        repository.saveProject(project);
+
+        Task first = project.getTasks().get(0);
+        Task renamed = new Task(first.id, "Edited mid-save", first.startTime, first.endTime);
+        renamed.dependencies = new ArrayList<>(first.dependencies);
+        repository.setSaveFault(step -> {
+            if (!step.equals("tasks-written")) return;
+            // another thread edits while the snapshot is half written
+            Thread editor = new Thread(() -> {
+                try {
+                    repository.updateTask(renamed, 1);
+                    repository.flush();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            editor.start();
+            try {
+                editor.join();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        });
+        repository.saveProject(project);
+        repository.setSaveFault(FileDataRepository.SaveFault.NONE);
+
+        // the snapshot predates the edit, so the journal must still hold it
+        Project loaded = repository(ProjectJournal.DEFAULT_COMPACT_BYTES).loadProject();
+        assertEquals("Edited mid-save", loaded.getTaskById(first.id).title);
+        assertEquals(200, loaded.getTaskCount());
+        assertFalse(Files.exists(dir.resolve("Tasks.txt.journal.saving")));
+        repository.close();
+    }
+
+    private static List<Integer> ids(List<Task> tasks) {
+        List<Integer> ids = new ArrayList<>();
+        for (Task t : tasks) ids.add(t.id);
+        return ids;
+    }
+}
@@ -0,0 +1,92 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GanttChartPanelTest {
+
+    private static BufferedImage paintViewport(GanttChartPanel panel, int y, int height) {
+        BufferedImage screen = new BufferedImage(panel.getWidth(), height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = screen.createGraphics();
+        g.translate(0, -y);
+        g.setClip(0, y, panel.getWidth(), height);
+        panel.paint(g);
+        g.dispose();
+        return screen;
+    }
+
+    @Test
+    void testOnlyVisibleTilesAreRendered() {
+        Project project = SyntheticProjects.create(10_000, 50, 41);
+        GanttChartPanel panel = new GanttChartPanel(project);
+        panel.setSize(1000, panel.getPreferredSize().height);
+        assertEquals(GanttChartPanel.HEADER_HEIGHT + 10_000 * GanttChartPanel.ROW_HEIGHT + GanttChartPanel.MARGIN,
+                panel.getHeight());
+
+        // a 600 px viewport spans at most two tiles
+        paintViewport(panel, 200_000, 600);
+        assertTrue(panel.cachedTileCount() >= 1 && panel.cachedTileCount() <= 2);
+
+        // scrolling far keeps the cache bounded
+        for (int y = 0; y < panel.getHeight(); y += 20_000) paintViewport(panel, y, 600);
+        assertTrue(panel.cachedTileCount() <= GanttChartPanel.MAX_TILES);
+        panel.detach();
+    }
+
+    @Test
+    void testEditDropsCachedTiles() {
+        Project project = new Project();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 6, 8, 0);
+        Task a = new Task(1, "A", base, base.plusHours(4));
+        Task b = new Task(2, "B", base.plusHours(4), base.plusHours(8));
+        project.addTask(a);
+        project.addTask(b);
+        project.addDependency(b, a);
+
+        GanttChartPanel panel = new GanttChartPanel(project);
+        panel.setSize(800, 300);
+        paintViewport(panel, 0, 300);
+        assertEquals(1, panel.cachedTileCount());
+
+        project.updateTask(new Task(2, "B", base.plusHours(5), base.plusHours(9)));
+        assertEquals(0, panel.cachedTileCount());
+        paintViewport(panel, 0, 300);
+        assertEquals(1, panel.cachedTileCount());
+        panel.detach();
+    }
+
+    @Test
+    void testLongConnectorIsDrawnOnTilesItPassesThrough() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 6, 8, 0);
+        Project plain = new Project();
+        Project linked = new Project();
+        // 100 rows, about six tiles; task 100 (last row) depends on task 1 (first row)
+        for (int i = 1; i <= 100; i++) {
+            plain.addTask(new Task(i, "T" + i, base.plusHours(i), base.plusHours(i + 2)));
+            linked.addTask(new Task(i, "T" + i, base.plusHours(i), base.plusHours(i + 2)));
+        }
+        linked.addDependency(linked.getTaskById(100), linked.getTaskById(1));
+
+        int middle = GanttChartPanel.HEADER_HEIGHT + 3 * GanttChartPanel.TILE_ROWS * GanttChartPanel.ROW_HEIGHT;
+        BufferedImage without = render(plain, middle);
+        BufferedImage with = render(linked, middle);
+        boolean differs = false;
+        for (int x = 0; x < with.getWidth() && !differs; x++) {
+            differs = with.getRGB(x, 10) != without.getRGB(x, 10);
+        }
+        assertTrue(differs, "the vertical segment must cross a tile holding neither end");
+    }
+
+    private static BufferedImage render(Project project, int y) {
+        GanttChartPanel panel = new GanttChartPanel(project);
+        panel.setSize(1000, panel.getPreferredSize().height);
+        BufferedImage image = paintViewport(panel, y, GanttChartPanel.ROW_HEIGHT);
+        panel.detach();
+        return image;
+    }
+}
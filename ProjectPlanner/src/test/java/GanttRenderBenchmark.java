@@ -0,0 +1,55 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One 1000x600 frame of the Gantt chart at a random scroll position; under 16 ms keeps 60 fps
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class GanttRenderBenchmark {
+
+    private static final int VIEWPORT_HEIGHT = 600;
+
+    private GanttChartPanel panel;
+    private BufferedImage screen;
+    private final Random random = new Random(43);
+    private int y;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Project project = SyntheticProjects.create(100_000, 1_000, 43);
+        panel = new GanttChartPanel(project);
+        panel.setSize(1000, panel.getPreferredSize().height);
+        screen = new BufferedImage(1000, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    // random jumps mostly miss the tile cache: worst case per frame
+    @Benchmark
+    public BufferedImage jumpFrame() {
+        return paint(random.nextInt(panel.getHeight() - VIEWPORT_HEIGHT));
+    }
+
+    // wheel scrolling, one row per frame, mostly cached tiles
+    @Benchmark
+    public BufferedImage scrollFrame() {
+        y = (y + GanttChartPanel.ROW_HEIGHT) % (panel.getHeight() - VIEWPORT_HEIGHT);
+        return paint(y);
+    }
+
+    private BufferedImage paint(int top) {
+        Graphics2D g = screen.createGraphics();
+        g.translate(0, -top);
+        g.setClip(0, top, 1000, VIEWPORT_HEIGHT);
+        panel.paint(g);
+        g.dispose();
+        return screen;
+    }
+}
@@ -0,0 +1,63 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// One task edit through the journal versus reloading and rewriting both text files
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JournalBenchmark {
+
+    @Param({"10000", "100000"})
+    public int taskCount;
+
+    private Path dir;
+    private FileDataRepository repository;
+    private List<Task> tasks;
+    private int edit;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("journal-bench");
+        repository = new FileDataRepository(dir.resolve("Tasks.txt").toString(), dir.resolve("Resources.txt").toString());
+        Project project = SyntheticProjects.create(taskCount, taskCount / 20, 47);
+        repository.saveProject(project);
+        tasks = project.getTasks();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void journalledEdit() throws Exception {
+        repository.updateTask(nextEdit(), 1);
+    }
+
+    // what updateTask cost before the journal
+    @Benchmark
+    public void rewriteEdit() throws Exception {
+        Project project = repository.loadProject();
+        project.updateTask(nextEdit());
+        repository.saveProject(project);
+    }
+
+    private Task nextEdit() {
+        Task t = tasks.get(edit++ % tasks.size());
+        return new Task(t.id, "Edit " + edit, t.startTime, t.endTime.plusMinutes(edit % 60));
+    }
+}
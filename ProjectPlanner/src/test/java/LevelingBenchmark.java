@@ -0,0 +1,31 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Serial schedule generation on synthetic over-allocated plans
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LevelingBenchmark {
+
+    @Param({"10000:500", "50000:2000"})
+    public String shape;
+
+    private Project project;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] parts = shape.split(":");
+        project = SyntheticProjects.create(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), 47);
+    }
+
+    @Benchmark
+    public ResourceLeveler.Result level() {
+        return ResourceLeveler.level(project);
+    }
+}
@@ -0,0 +1,38 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Weekly and hourly load runs for thousands of resources over a multi-year plan
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoadProfileBenchmark {
+
+    @Param({"HOUR", "WEEK"})
+    public ResourceLoadProfile.Bucket bucket;
+
+    private Project project;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 200k tasks span about 1100 working days
+        project = SyntheticProjects.create(200_000, 5_000, 41);
+    }
+
+    @Benchmark
+    public long bucketRuns() {
+        long[] runs = new long[1];
+        ResourceLoadProfile.forEachBucketRun(project, bucket, (r, start, count, load) -> runs[0] += count);
+        return runs[0];
+    }
+
+    @Benchmark
+    public int overloads() {
+        return ResourceLoadProfile.findOverloads(project).size();
+    }
+}
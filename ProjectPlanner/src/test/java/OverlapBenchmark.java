@@ -0,0 +1,40 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Sweep-line overlap detection over all tasks and per resource
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class OverlapBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int taskCount;
+
+    private Project project;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        project = SyntheticProjects.create(taskCount, taskCount / 100, 31);
+        project.graph();
+    }
+
+    @Benchmark
+    public long allOverlaps() {
+        long[] checksum = new long[1];
+        OverlapSweep.findOverlaps(project, (a, b) -> checksum[0] += a.id ^ b.id);
+        return checksum[0];
+    }
+
+    @Benchmark
+    public long resourceConflicts() {
+        long[] checksum = new long[1];
+        OverlapSweep.findResourceConflicts(project, (r, a, b) -> checksum[0] += a.id ^ b.id);
+        return checksum[0];
+    }
+}
@@ -0,0 +1,74 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OverlapSweepTest {
+
+    private static long key(Task a, Task b) {
+        return Project.edgeKey(Math.min(a.id, b.id), Math.max(a.id, b.id));
+    }
+
+    @Test
+    void testMatchesPairwiseScan() {
+        Project project = SyntheticProjects.create(2000, 20, 5);
+        // add zero length and identical tasks to cover the edge cases
+        project.addTask(new Task(5001, "Milestone", "20250110+0800", "20250110+0800"));
+        project.addTask(new Task(5002, "Twin", "20250110+0800", "20250110+1000"));
+        project.addTask(new Task(5003, "Twin", "20250110+0800", "20250110+1000"));
+
+        Set<Long> expected = new HashSet<>();
+        List<Task> tasks = project.getTasks();
+        for (int i = 0; i < tasks.size(); i++) {
+            for (int j = i + 1; j < tasks.size(); j++) {
+                if (tasks.get(i).overLapsWith(tasks.get(j))) expected.add(key(tasks.get(i), tasks.get(j)));
+            }
+        }
+
+        Set<Long> actual = new HashSet<>();
+        long count = OverlapSweep.findOverlaps(project, (a, b) -> {
+            assertFalse(b.startTime.isBefore(a.startTime), "pairs come in start order");
+            actual.add(key(a, b));
+        });
+        assertEquals(expected.size(), count);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testResourceDoubleBooking() throws Exception {
+        Project project = new Project();
+        Task a = new Task(1, "A", "20250101+0800", "20250101+1200");
+        Task b = new Task(2, "B", "20250101+1100", "20250101+1500");
+        Task c = new Task(3, "C", "20250101+1500", "20250101+1700");
+        project.addTask(a);
+        project.addTask(b);
+        project.addTask(c);
+        Resource alice = new Resource("Alice");
+        alice.addAllocations(a, 50);
+        alice.addAllocations(b, 50);
+        alice.addAllocations(c, 50);
+        Resource bob = new Resource("Bob");
+        bob.addAllocations(a, 100);
+        bob.addAllocations(c, 100);
+        project.addResource(alice);
+        project.addResource(bob);
+
+        List<String> conflicts = new ArrayList<>();
+        long count = OverlapSweep.findResourceConflicts(project,
+                (r, first, second) -> conflicts.add(r.getName() + " " + first.id + "-" + second.id));
+        assertEquals(1, count);
+        assertEquals(List.of("Alice 1-2"), conflicts);
+
+        StringWriter report = new StringWriter();
+        OverlapSweep.writeReport(project, report);
+        assertTrue(report.toString().contains("Alice: Task 1 overlaps with Task 2"));
+        assertTrue(report.toString().contains("1 overlapping pairs"));
+    }
+}
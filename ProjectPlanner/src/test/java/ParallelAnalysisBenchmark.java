@@ -0,0 +1,71 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Scaling of the parallel reports with the pool size, against the sequential Project methods
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ParallelAnalysisBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private Project project;
+    private ParallelAnalysis parallel;
+    // one thread, one range: the parallel loops run sequentially
+    private ParallelAnalysis sequential;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        project = SyntheticProjects.create(1_000_000, 10_000, 37);
+        project.graph();
+        parallel = new ParallelAnalysis(project, parallelism);
+        sequential = new ParallelAnalysis(project, 1, Integer.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallel.close();
+        sequential.close();
+    }
+
+    @Benchmark
+    public List<String> overlapsParallel() {
+        return parallel.findOverlappingDependencyPairs();
+    }
+
+    @Benchmark
+    public Map<String, Double> effortParallel() {
+        return parallel.totalEffortHoursPerResource();
+    }
+
+    @Benchmark
+    public Object boundsParallel() {
+        return parallel.projectDuration();
+    }
+
+    // baselines; parallelism does not apply
+    @Benchmark
+    public List<String> overlapsSequential() {
+        return project.findOverlappingDependencyPairs();
+    }
+
+    // Project caches effort totals and bounds between edits, so these time the uncached loops
+    @Benchmark
+    public Map<String, Double> effortSequential() {
+        return sequential.totalEffortHoursPerResource();
+    }
+
+    @Benchmark
+    public Object boundsSequential() {
+        return sequential.projectDuration();
+    }
+}
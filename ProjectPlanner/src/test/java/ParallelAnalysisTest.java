@@ -0,0 +1,44 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelAnalysisTest {
+
+    @Test
+    void testMatchesSequentialReports() {
+        Project project = SyntheticProjects.create(20_000, 300, 29);
+        // small ranges so the fork-join splitting is exercised
+        try (ParallelAnalysis parallel = new ParallelAnalysis(project, 4, 257)) {
+            assertEquals(4, parallel.getParallelism());
+            assertEquals(project.projectStart(), parallel.projectStart());
+            assertEquals(project.projectEnd(), parallel.projectEnd());
+            assertEquals(project.projectDuration(), parallel.projectDuration());
+            assertEquals(project.findOverlappingDependencyPairs(), parallel.findOverlappingDependencyPairs());
+            // same summation order, so exactly equal doubles
+            assertEquals(project.totalEffortHoursPerResource(), parallel.totalEffortHoursPerResource());
+        }
+    }
+
+    @Test
+    void testEmptyProjectAndBadParallelism() {
+        try (ParallelAnalysis parallel = new ParallelAnalysis(new Project(), 2)) {
+            assertNull(parallel.projectStart());
+            assertTrue(parallel.findOverlappingDependencyPairs().isEmpty());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ParallelAnalysis(new Project(), 0));
+    }
+
+    @Test
+    void testLeafSizeFollowsInputSize() {
+        try (ParallelAnalysis parallel = new ParallelAnalysis(new Project(), 8)) {
+            // 10k resources still split into several ranges per worker
+            assertEquals(10_000 / (8 * ParallelAnalysis.LEAVES_PER_THREAD), parallel.leafSize(10_000));
+            assertEquals(ParallelAnalysis.MIN_LEAF_SIZE, parallel.leafSize(100));
+        }
+        try (ParallelAnalysis parallel = new ParallelAnalysis(new Project(), 8, 257)) {
+            assertEquals(257, parallel.leafSize(10_000));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+// Memory-mapped parallel import of a large Tasks.txt: speedup against thread count
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ParallelImportBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"2000000"})
+    public int taskCount;
+
+    private File tasksFile;
+    private File resourcesFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        File dir = Files.createTempDirectory("import-bench").toFile();
+        tasksFile = new File(dir, "Tasks.txt");
+        resourcesFile = new File(dir, "Resources.txt");
+        new FileDataRepository(tasksFile.getPath(), resourcesFile.getPath())
+            .saveProject(SyntheticProjects.create(taskCount, 0, 13));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tasksFile.delete();
+        resourcesFile.delete();
+        tasksFile.getParentFile().delete();
+    }
+
+    @Benchmark
+    public Project sequentialScanner() throws Exception {
+        Project project = new Project();
+        TaskFileScanner.scanTasksFile(tasksFile, project);
+        return project;
+    }
+
+    @Benchmark
+    public Project parallelImport() throws Exception {
+        Project project = new Project();
+        ParallelTaskImporter.importTasksFile(tasksFile, project, threads);
+        return project;
+    }
+}
@@ -0,0 +1,54 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelTaskImporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testParallelImportMatchesSequentialOrder() throws Exception {
+        File tasks = dir.resolve("Tasks.txt").toFile();
+        File resources = dir.resolve("Resources.txt").toFile();
+        new FileDataRepository(tasks.getPath(), resources.getPath())
+            .saveProject(SyntheticProjects.create(5000, 10, 5));
+        // a duplicate id later in the file must still win, as in a sequential read
+        Files.writeString(tasks.toPath(), "17, Duplicate, 20250101+0800, 20250101+0900, 3\n",
+            StandardOpenOption.APPEND);
+
+        Project sequential = new Project();
+        Map<Integer, List<Integer>> expectedDeps = TaskFileScanner.scanTasksFile(tasks, sequential);
+
+        Project parallel = new Project();
+        // tiny chunks so that lines are split across many chunk boundaries
+        Map<Integer, List<Integer>> actualDeps = ParallelTaskImporter.importTasksFile(tasks, parallel, 4, 997);
+
+        assertEquals(expectedDeps, actualDeps);
+        assertEquals(new ArrayList<>(sequential.tasksById.keySet()), new ArrayList<>(parallel.tasksById.keySet()));
+        assertEquals("Duplicate", parallel.getTaskById(17).title);
+        for (Task t : sequential.getTasks()) {
+            assertEquals(t.startTime, parallel.getTaskById(t.id).startTime);
+            assertEquals(t.endTime, parallel.getTaskById(t.id).endTime);
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws Exception {
+        File tasks = Files.createFile(dir.resolve("Tasks.txt")).toFile();
+        Project project = new Project();
+        assertTrue(ParallelTaskImporter.importTasksFile(tasks, project, 4, 1024).isEmpty());
+        assertTrue(project.getTasks().isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectTableModelTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 6, 8, 0);
+
+    private static Project sample() {
+        Project project = new Project();
+        for (int id = 1; id <= 5; id++) {
+            project.addTask(new Task(id, "T" + id, BASE.plusHours(id), BASE.plusHours(id + 2)));
+        }
+        project.addDependency(project.getTaskById(3), project.getTaskById(1));
+        project.addDependency(project.getTaskById(3), project.getTaskById(2));
+        Resource r = new Resource("Ann");
+        r.addAllocations(project.getTaskById(3), 50);
+        project.addResource(r);
+        return project;
+    }
+
+    @Test
+    void testCellsMatchProject() {
+        Project project = sample();
+        ProjectTableModel model = new ProjectTableModel(project);
+        assertEquals(5, model.getRowCount());
+        assertEquals(3, model.getValueAt(2, 0));
+        assertEquals("T3", model.getValueAt(2, 1));
+        assertEquals(BASE.plusHours(3).format(Task.Formater), model.getValueAt(2, 2));
+        assertEquals("1, 2", model.getValueAt(2, 4));
+        assertEquals("Ann (50%)", model.getValueAt(2, 5));
+        assertFalse(model.isCached(0));
+        model.detach();
+    }
+
+    @Test
+    void testEditUpdatesOnlyAffectedRows() {
+        Project project = sample();
+        ProjectTableModel model = new ProjectTableModel(project);
+        for (int row = 0; row < model.getRowCount(); row++) model.getValueAt(row, 2);
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        project.updateTask(new Task(5, "T5", BASE.plusDays(1), BASE.plusDays(1).plusHours(1)));
+
+        assertFalse(events.isEmpty());
+        for (TableModelEvent e : events) {
+            assertEquals(TableModelEvent.UPDATE, e.getType());
+            assertEquals(4, e.getFirstRow());
+            assertEquals(4, e.getLastRow());
+        }
+        assertFalse(model.isCached(4));
+        assertTrue(model.isCached(0));
+        assertEquals(BASE.plusDays(1).format(Task.Formater), model.getValueAt(4, 2));
+        model.detach();
+    }
+
+    @Test
+    void testStructuralChangesAreCoalesced() throws Exception {
+        Project project = sample();
+        ProjectTableModel model = new ProjectTableModel(project);
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        SwingUtilities.invokeAndWait(() -> {
+            project.removeTask(4);
+            project.removeTask(5);
+        });
+        // the coalesced refresh runs on the next EDT pass
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(1, events.size());
+        assertEquals(3, model.getRowCount());
+        model.detach();
+    }
+}
@@ -3,6 +3,7 @@ package com.mycompany.projectplanner;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -155,4 +156,114 @@ public class ProjectTest {
         assertNull(project.projectStart(), "Project start should be null for an empty project.");
         assertNull(project.projectEnd(), "Project end should be null for an empty project.");
     }
-}
\ No newline at end of file
+
+    // --- Team lookup (reverse allocation index) ---
+
+    @Test
+    void testTeamForTask_FollowsAllocationChanges() {
+        Task taskA = createTask(1, "A", "20251107+1000", "20251107+1400");
+        Task taskB = createTask(2, "B", "20251107+1100", "20251107+1300");
+        project.addTask(taskA);
+        project.addTask(taskB);
+
+        // allocations made before and after the resource joins the project
+        Resource alice = new Resource("Alice");
+        alice.addAllocations(taskA, 50);
+        project.addResource(alice);
+        Resource bob = new Resource("Bob");
+        project.addResource(bob);
+        bob.addAllocations(taskA, 100);
+        bob.addAllocations(taskB, 25);
+
+        assertEquals(List.of("Alice (50%)", "Bob (100%)"), project.teamForTask(1));
+        assertEquals(List.of("Bob (25%)"), project.teamForTask(2));
+
+        bob.removeAllocation(taskA);
+        assertEquals(List.of("Alice (50%)"), project.teamForTask(1));
+
+        project.removeResource("Alice");
+        assertTrue(project.teamForTask(1).isEmpty(), "Removed resources should leave the team.");
+
+        Task replacement = createTask(2, "B2", "20251107+1100", "20251107+1500");
+        project.updateTask(replacement);
+        assertEquals(List.of("Bob (25%)"), project.teamForTask(2));
+
+        project.removeTask(2);
+        assertTrue(project.teamForTask(2).isEmpty());
+        assertTrue(bob.getAllocations().isEmpty(), "Removing a task should drop its allocations.");
+    }
+
+    // --- Maintained aggregates ---
+
+    @Test
+    void testProjectBounds_FollowEditsAndDeletes() {
+        Task taskA = createTask(1, "A", "20251107+1000", "20251107+1400");
+        Task taskB = createTask(2, "B", "20251108+0900", "20251108+1500");
+        Task taskC = createTask(3, "C", "20251107+1200", "20251108+1000");
+        project.addTask(taskA);
+        project.addTask(taskB);
+        project.addTask(taskC);
+        assertEquals(taskA.startTime, project.projectStart());
+        assertEquals(taskB.endTime, project.projectEnd());
+
+        // the earliest task moves later, so the start falls back to Task C
+        long version = project.getVersion();
+        taskA.startTime = LocalDateTime.parse("20251108+0800", Task.Formater);
+        taskA.endTime = LocalDateTime.parse("20251108+1600", Task.Formater);
+        project.taskChanged(taskA);
+        assertTrue(project.getVersion() > version, "Edits should bump the version.");
+        assertEquals(taskC.startTime, project.projectStart());
+        assertEquals(taskA.endTime, project.projectEnd());
+
+        project.removeTask(1);
+        assertEquals(taskB.endTime, project.projectEnd());
+        project.updateTask(createTask(3, "C", "20251101+0800", "20251101+0900"));
+        assertEquals(LocalDateTime.parse("20251101+0800", Task.Formater), project.projectStart());
+        assertEquals(2, project.getTaskCount());
+    }
+
+    @Test
+    void testEffortTotals_CachedPerVersion() {
+        Task taskA = createTask(1, "A", "20251107+1000", "20251107+1400");
+        project.addTask(taskA);
+        Resource alice = new Resource("Alice");
+        alice.addAllocations(taskA, 50);
+        project.addResource(alice);
+
+        assertEquals(2.0, project.totalEffortHoursPerResource().get("Alice"), 1e-9);
+        assertSame(project.totalEffortHoursPerResource(), project.totalEffortHoursPerResource());
+
+        alice.addAllocations(taskA, 100);
+        assertEquals(4.0, project.totalEffortHoursPerResource().get("Alice"), 1e-9);
+
+        Task taskB = createTask(2, "B", "20251107+1400", "20251107+1500");
+        project.addTask(taskB);
+        project.addDependency(taskB, taskA);
+        assertEquals(1, project.getDependencyCount());
+        project.removeTask(1);
+        assertEquals(0, project.getDependencyCount());
+        assertEquals(0.0, project.totalEffortHoursPerResource().get("Alice"), 1e-9);
+    }
+
+    @Test
+    void testSnapshotIsIndependent() {
+        Task taskA = createTask(1, "A", "20251107+1000", "20251107+1400");
+        Task taskB = createTask(2, "B", "20251107+1400", "20251107+1500");
+        project.addTask(taskA);
+        project.addTask(taskB);
+        project.addDependency(taskB, taskA);
+        Resource alice = new Resource("Alice");
+        alice.addAllocations(taskB, 50);
+        project.addResource(alice);
+
+        Project snapshot = project.snapshot();
+        assertNotSame(taskB, snapshot.getTaskById(2));
+        assertEquals(1, snapshot.getTaskById(2).dependencies.get(0).id);
+        assertEquals(List.of("Alice (50%)"), snapshot.teamForTask(2));
+        snapshot.graph();
+
+        project.removeTask(1);
+        assertEquals(2, snapshot.getTaskCount());
+        assertEquals(1, snapshot.getDependencyCount());
+    }
+}
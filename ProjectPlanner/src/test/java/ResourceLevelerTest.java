@@ -0,0 +1,65 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceLevelerTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 2, 8, 0);
+
+    private static Task task(Project project, int id, int startHour, int hours) {
+        Task t = new Task(id, "T" + id, BASE.plusHours(startHour), BASE.plusHours(startHour + hours));
+        project.addTask(t);
+        return t;
+    }
+
+    @Test
+    void testDelaysTaskWithFloat() {
+        // 1 -> 3 is critical, 2 has float and shares Alice with 1
+        Project project = new Project();
+        Task t1 = task(project, 1, 0, 4);
+        Task t2 = task(project, 2, 0, 2);
+        Task t3 = task(project, 3, 4, 4);
+        project.addDependency(t3, t1);
+        Resource alice = new Resource("Alice");
+        alice.addAllocations(t1, 100);
+        alice.addAllocations(t2, 50);
+        project.addResource(alice);
+
+        ResourceLeveler.Result result = ResourceLeveler.level(project);
+        Project leveled = result.getProposedProject();
+
+        assertEquals(List.of(2), result.getShifts().stream().map(s -> s.taskId).collect(Collectors.toList()));
+        assertEquals(BASE.plusHours(4), leveled.getTaskById(2).startTime);
+        assertEquals(BASE.plusHours(6), leveled.getTaskById(2).endTime);
+        assertEquals(BASE, leveled.getTaskById(1).startTime);
+        assertEquals(240, result.getShifts().get(0).delayMinutes());
+        // the input is untouched
+        assertEquals(BASE, t2.startTime);
+        assertEquals(List.of("Alice (50%)"), leveled.teamForTask(2));
+    }
+
+    @Test
+    void testRespectsCapacityAndPrecedence() {
+        Project project = SyntheticProjects.create(3000, 40, 13);
+        ResourceLeveler.Result result = ResourceLeveler.level(project);
+        Project leveled = result.getProposedProject();
+
+        assertTrue(ResourceLoadProfile.findOverloads(leveled).stream().allMatch(o -> o.tasks.size() == 1),
+                "only single allocations above 100% may remain");
+        for (Task t : leveled.getTasks()) {
+            Task original = project.getTaskById(t.id);
+            assertFalse(t.startTime.isBefore(original.startTime));
+            assertEquals(original.getDurationInHours(), t.getDurationInHours());
+            for (Task dep : t.dependencies) {
+                assertFalse(t.startTime.isBefore(dep.endTime), "task " + t.id + " starts before dependency " + dep.id);
+            }
+        }
+        assertEquals(project.tasksById.size(), leveled.tasksById.size());
+    }
+}
@@ -0,0 +1,89 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceLoadProfileTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 10, 13, 0, 0);
+
+    private static Task task(Project project, int id, LocalDateTime start, LocalDateTime end) {
+        Task t = new Task(id, "T" + id, start, end);
+        project.addTask(t);
+        return t;
+    }
+
+    @Test
+    void testOverloadListsInvolvedTasks() {
+        Project project = new Project();
+        Task t1 = task(project, 1, MONDAY.plusHours(8), MONDAY.plusHours(16));
+        Task t2 = task(project, 2, MONDAY.plusHours(10), MONDAY.plusHours(12));
+        Task t5 = task(project, 5, MONDAY.plusHours(11), MONDAY.plusHours(20));
+        Resource mariyam = new Resource("Mariyam");
+        mariyam.addAllocations(t1, 100);
+        mariyam.addAllocations(t2, 100);
+        mariyam.addAllocations(t5, 100);
+        project.addResource(mariyam);
+
+        assertEquals("[2025-10-13T08:00..2025-10-13T10:00 100%, 2025-10-13T10:00..2025-10-13T11:00 200%, "
+                + "2025-10-13T11:00..2025-10-13T12:00 300%, 2025-10-13T12:00..2025-10-13T16:00 200%, "
+                + "2025-10-13T16:00..2025-10-13T20:00 100%]", ResourceLoadProfile.loadCurve(mariyam).toString());
+
+        List<ResourceLoadProfile.Overload> overloads = ResourceLoadProfile.findOverloads(project);
+        assertEquals(3, overloads.size());
+        ResourceLoadProfile.Overload peak = overloads.get(1);
+        assertEquals(300, peak.load);
+        assertEquals(MONDAY.plusHours(11), peak.start);
+        assertEquals(MONDAY.plusHours(12), peak.end);
+        assertEquals(List.of(t1, t2, t5), peak.tasks);
+
+        List<String> weeks = new ArrayList<>();
+        ResourceLoadProfile.forEachBucketRun(project, ResourceLoadProfile.Bucket.WEEK,
+                (r, start, count, load) -> weeks.add(BinarySnapshotRepository.fromEpochMinutes(start) + " x" + count + " " + load));
+        assertEquals(List.of("2025-10-13T00:00 x1 300"), weeks);
+    }
+
+    @Test
+    void testBucketRunsMatchPerBucketPeaks() {
+        Project project = new Project();
+        Resource r = new Resource("R");
+        Random random = new Random(11);
+        for (int id = 1; id <= 60; id++) {
+            LocalDateTime start = MONDAY.plusMinutes(random.nextInt(60 * 24 * 20));
+            Task t = task(project, id, start, start.plusMinutes(1 + random.nextInt(60 * 24 * 4)));
+            r.addAllocations(t, 10 * (1 + random.nextInt(10)));
+        }
+        project.addResource(r);
+
+        for (ResourceLoadProfile.Bucket bucket : ResourceLoadProfile.Bucket.values()) {
+            // expand the runs and compare with a brute force peak per bucket
+            List<long[]> buckets = new ArrayList<>();
+            ResourceLoadProfile.forEachBucketRun(r, bucket, (res, start, count, load) -> {
+                for (long b = 0; b < count; b++) buckets.add(new long[] {start + b * bucket.minutes, load});
+            });
+            List<ResourceLoadProfile.Segment> curve = ResourceLoadProfile.loadCurve(r);
+            long first = bucket.bucketOf(curve.get(0).start);
+            long last = bucket.bucketOf(curve.get(curve.size() - 1).end - 1);
+            int k = 0;
+            for (long b = first; b <= last; b++) {
+                long from = bucket.startOf(b);
+                long to = from + bucket.minutes;
+                int peak = 0;
+                for (ResourceLoadProfile.Segment s : curve) {
+                    if (s.start < to && s.end > from) peak = Math.max(peak, s.load);
+                }
+                if (peak == 0) continue;
+                assertEquals(from, buckets.get(k)[0], bucket + " bucket start");
+                assertEquals(peak, buckets.get(k)[1], bucket + " peak at " + from);
+                k++;
+            }
+            assertEquals(buckets.size(), k);
+        }
+    }
+}
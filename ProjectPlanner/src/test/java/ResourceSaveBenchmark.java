@@ -0,0 +1,45 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Throughput of the bulk resource and allocation inserts at different batch sizes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceSaveBenchmark {
+
+    @Param({"1000", "5000"})
+    public int resourceCount;
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private ConnectionPool pool;
+    private DatabaseRepository repository;
+    private Project project;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        pool = TestDatabase.createPool();
+        repository = new DatabaseRepository(pool);
+        repository.setBatchSize(batchSize);
+        // few tasks, many resources: the save is dominated by resources and allocations
+        project = SyntheticProjects.create(resourceCount, resourceCount, 7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public void saveProject() throws Exception {
+        project.stopTrackingChanges();
+        repository.saveProject(project);
+    }
+}
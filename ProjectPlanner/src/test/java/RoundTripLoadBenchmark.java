@@ -0,0 +1,98 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Single-query load against the four-statement load, with a simulated network round trip added to every statement execution
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RoundTripLoadBenchmark {
+
+    private static final int TASKS = 20_000;
+
+    // 0 is the local stand-in database as is; the others approximate a LAN and a WAN server
+    @Param({"0", "2", "20"})
+    public int roundTripMillis;
+
+    private ConnectionPool pool;
+    private DatabaseRepository repository;
+    private int projectId;
+
+    // delays every execute* call on the statements it hands out by one round trip
+    static final class RemotePool extends ConnectionPool {
+        private final long roundTripNanos;
+
+        RemotePool(String url, long roundTripMillis) {
+            super(url, "sa", "");
+            this.roundTripNanos = TimeUnit.MILLISECONDS.toNanos(roundTripMillis);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection conn = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(conn, method, args);
+                        return result instanceof PreparedStatement ? delayed((PreparedStatement) result) : result;
+                    });
+        }
+
+        private PreparedStatement delayed(PreparedStatement stmt) {
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute") && roundTripNanos > 0) {
+                            LockSupport.parkNanos(roundTripNanos);
+                        }
+                        return invoke(stmt, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // stream results as a server does instead of materializing them, and run
+        // every load for real instead of handing back the previous identical result
+        String url = TestDatabase.newUrl() + ";LAZY_QUERY_EXECUTION=TRUE;OPTIMIZE_REUSE_RESULTS=FALSE";
+        pool = new RemotePool(url, roundTripMillis);
+        TestDatabase.createSchema(pool);
+        repository = new DatabaseRepository(pool);
+        Project project = SyntheticProjects.create(TASKS, TASKS / 100, 71);
+        repository.saveProject(project);
+        projectId = project.getProjectId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public Project singleQuery() throws Exception {
+        return repository.loadProject(projectId);
+    }
+
+    @Benchmark
+    public Project perTable() throws Exception {
+        return repository.loadProjectPerTable(projectId);
+    }
+}
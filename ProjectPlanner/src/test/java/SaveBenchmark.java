@@ -0,0 +1,55 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Full rewrite versus incremental save of a project with one edited task
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveBenchmark {
+
+    @Param({"2000", "20000"})
+    public int taskCount;
+
+    private ConnectionPool pool;
+    private DatabaseRepository repository;
+    private Project project;
+    private int edit;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        pool = TestDatabase.createPool();
+        repository = new DatabaseRepository(pool);
+        project = SyntheticProjects.create(taskCount, taskCount / 20, 42);
+        repository.saveProject(project);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public void fullRewrite() throws Exception {
+        editOneTitle();
+        project.stopTrackingChanges();
+        repository.saveProject(project);
+    }
+
+    @Benchmark
+    public void incremental() throws Exception {
+        editOneTitle();
+        repository.saveProject(project);
+    }
+
+    private void editOneTitle() {
+        Task task = project.getTaskById(1 + (edit++ % taskCount));
+        task.title = "Edited " + edit;
+        project.taskChanged(task);
+    }
+}
@@ -0,0 +1,125 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleEngineTest {
+
+    // compares the engine with analyses computed from scratch
+    private static void assertMatchesFullRecompute(Project project) {
+        ScheduleEngine engine = project.scheduleEngine();
+        CriticalPathAnalysis cpm = project.criticalPathAnalysis();
+        TaskGraph graph = cpm.getGraph();
+
+        assertEquals(cpm.projectFinish(), engine.projectFinish());
+        for (int i = 0; i < graph.size(); i++) {
+            Task t = graph.task(i);
+            assertEquals(cpm.earliestStartTime(i), engine.earliestStart(t), "earliest start of " + t.id);
+            assertEquals(cpm.latestStartTime(i), engine.latestStart(t), "latest start of " + t.id);
+            assertEquals(cpm.totalFloat(i), engine.totalFloat(t));
+            assertEquals(cpm.freeFloat(i), engine.freeFloat(t));
+        }
+        assertEquals(project.findOverlappingDependencyPairs(), engine.overlappingDependencyPairs());
+        Map<String, Double> expectedEffort = project.totalEffortHoursPerResource();
+        Map<String, Double> actualEffort = engine.effortHoursPerResource();
+        assertEquals(expectedEffort.keySet(), actualEffort.keySet());
+        for (String name : expectedEffort.keySet()) {
+            assertEquals(expectedEffort.get(name), actualEffort.get(name), 1e-6);
+        }
+    }
+
+    @Test
+    void testEditsMatchFullRecompute() {
+        Project project = SyntheticProjects.create(2000, 30, 19);
+        Random random = new Random(4);
+        project.scheduleEngine().effortHoursPerResource();
+
+        for (int round = 0; round < 150; round++) {
+            Task t = project.getTaskById(1 + random.nextInt(2000));
+            long startShift = random.nextInt(2000) - 1000;
+            long endShift = startShift + random.nextInt(600) - 200;
+            Task edited = new Task(t.id, t.title, t.startTime.plusMinutes(startShift), t.endTime.plusMinutes(endShift));
+            if (!edited.endTime.isAfter(edited.startTime)) edited.endTime = edited.startTime.plusMinutes(30);
+            if (round % 2 == 0) {
+                project.updateTask(edited);
+            } else {
+                t.startTime = edited.startTime;
+                t.endTime = edited.endTime;
+                project.taskChanged(t);
+            }
+            if (round % 10 == 0) assertMatchesFullRecompute(project);
+        }
+        assertMatchesFullRecompute(project);
+    }
+
+    @Test
+    void testReportedTasksCoverEveryChangedValue() {
+        Project project = SyntheticProjects.create(800, 10, 23);
+        ScheduleEngine engine = project.scheduleEngine();
+        List<ScheduleEngine.ScheduleChange> changes = new ArrayList<>();
+        engine.addListener(changes::add);
+        Random random = new Random(8);
+
+        for (int round = 0; round < 100; round++) {
+            Map<Integer, List<Object>> before = scheduleValues(project);
+            Task t = project.getTaskById(1 + random.nextInt(800));
+            long shift = random.nextInt(1200) - 600;
+            project.updateTask(new Task(t.id, t.title, t.startTime.plusMinutes(shift), t.endTime.plusMinutes(shift)));
+
+            ScheduleEngine.ScheduleChange change = changes.get(changes.size() - 1);
+            assertFalse(change.isFull());
+            Map<Integer, List<Object>> after = scheduleValues(project);
+            for (Map.Entry<Integer, List<Object>> e : after.entrySet()) {
+                if (!e.getValue().equals(before.get(e.getKey()))) {
+                    assertTrue(change.getTaskIds().contains(e.getKey()), "task " + e.getKey() + " changed unreported");
+                }
+            }
+        }
+    }
+
+    private static Map<Integer, List<Object>> scheduleValues(Project project) {
+        ScheduleEngine engine = project.scheduleEngine();
+        Map<Integer, List<Object>> values = new HashMap<>();
+        for (Task t : project.getTasks()) {
+            values.put(t.id, List.of(engine.earliestStart(t), engine.latestStart(t),
+                    engine.totalFloat(t), engine.freeFloat(t), engine.isCritical(t)));
+        }
+        return values;
+    }
+
+    @Test
+    void testListenersGetChangedTasks() {
+        Project project = new Project();
+        Task a = new Task(1, "A", "20250101+0800", "20250101+1000");
+        Task b = new Task(2, "B", "20250101+1000", "20250101+1200");
+        Task c = new Task(3, "C", "20250101+0800", "20250101+0900");
+        project.addTask(a);
+        project.addTask(b);
+        project.addTask(c);
+        project.addDependency(b, a);
+
+        List<ScheduleEngine.ScheduleChange> changes = new ArrayList<>();
+        ScheduleEngine engine = project.scheduleEngine();
+        engine.addListener(changes::add);
+        assertEquals(a.endTime.plusHours(2), engine.projectFinish());
+
+        // A runs an hour longer: B moves, C only gains float
+        project.updateTask(new Task(1, "A", "20250101+0800", "20250101+1100"));
+        assertEquals(1, changes.size());
+        assertFalse(changes.get(0).isFull());
+        assertEquals(Set.of(1, 2, 3), changes.get(0).getTaskIds());
+        assertEquals(b.endTime.plusHours(1), engine.projectFinish());
+
+        project.removeDependency(b, project.getTaskById(1));
+        assertTrue(changes.get(1).isFull());
+        assertMatchesFullRecompute(project);
+    }
+}
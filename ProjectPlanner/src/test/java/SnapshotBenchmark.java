@@ -0,0 +1,61 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+// Save and reopen times of the binary snapshot against the Tasks.txt / Resources.txt pair
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SnapshotBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int taskCount;
+
+    private File dir;
+    private Project project;
+    private FileDataRepository textRepository;
+    private BinarySnapshotRepository snapshotRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("snapshot-bench").toFile();
+        project = SyntheticProjects.create(taskCount, taskCount / 100, 17);
+        textRepository = new FileDataRepository(new File(dir, "Tasks.txt").getPath(), new File(dir, "Resources.txt").getPath());
+        snapshotRepository = new BinarySnapshotRepository(new File(dir, "Project.snapshot").getPath());
+        textRepository.saveProject(project);
+        snapshotRepository.saveProject(project);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (File f : dir.listFiles()) f.delete();
+        dir.delete();
+    }
+
+    @Benchmark
+    public void saveText() throws Exception {
+        textRepository.saveProject(project);
+    }
+
+    @Benchmark
+    public void saveSnapshot() throws Exception {
+        snapshotRepository.saveProject(project);
+    }
+
+    @Benchmark
+    public Project loadText() throws Exception {
+        return textRepository.loadProject();
+    }
+
+    @Benchmark
+    public Project loadSnapshot() throws Exception {
+        return snapshotRepository.loadProject();
+    }
+}
@@ -0,0 +1,76 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Time until the first rows can be shown, and the whole load, for the streamed and the one-shot database load
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StreamingLoadBenchmark {
+
+    private static final int TASKS = 200_000;
+
+    // thrown by the consumer to stop after the first chunk
+    private static final class FirstChunk extends RuntimeException {
+        FirstChunk() {
+            super(null, null, false, false);
+        }
+    }
+
+    @Param({"5000"})
+    public int chunkSize;
+
+    private ConnectionPool pool;
+    private DatabaseRepository repository;
+    private int projectId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        pool = TestDatabase.createPool();
+        repository = new DatabaseRepository(pool);
+        Project project = SyntheticProjects.create(TASKS, TASKS / 100, 67);
+        repository.saveProject(project);
+        projectId = project.getProjectId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public Project fullLoad() throws Exception {
+        return repository.loadProject(projectId);
+    }
+
+    @Benchmark
+    public Project streamedLoad() throws Exception {
+        return repository.loadProject(projectId, chunkSize, p -> { });
+    }
+
+    @Benchmark
+    public int streamOnly() throws Exception {
+        int[] n = new int[1];
+        repository.streamProject(projectId, chunkSize, chunk -> n[0] += chunk.getTasks().size());
+        return n[0];
+    }
+
+    @Benchmark
+    public Project firstChunk() throws Exception {
+        ProjectChunk.Assembler assembler = new ProjectChunk.Assembler();
+        try {
+            repository.streamProject(projectId, chunkSize, chunk -> {
+                assembler.apply(chunk);
+                throw new FirstChunk();
+            });
+        } catch (FirstChunk e) {
+            // the table could be shown from here
+        }
+        return assembler.getProject();
+    }
+}
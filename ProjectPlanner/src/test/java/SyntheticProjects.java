@@ -0,0 +1,47 @@
+package com.mycompany.projectplanner;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+// Generates large projects with a plausible shape for the benchmarks
+public class SyntheticProjects {
+
+    public static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 6, 8, 0);
+
+    /**
+     * Builds a project of chained tasks: each task depends on up to two of the
+     * previous 50 tasks and every resource gets a handful of allocations.
+     */
+    public static Project create(int taskCount, int resourceCount, long seed) {
+        Random random = new Random(seed);
+        Project project = new Project();
+        project.setName("Synthetic " + taskCount);
+
+        Task[] tasks = new Task[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            LocalDateTime start = BASE.plusHours(i / 4 * 8L + random.nextInt(8));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(40));
+            tasks[i] = new Task(i + 1, "Task " + (i + 1), start.format(Task.Formater), end.format(Task.Formater));
+            project.addTask(tasks[i]);
+            for (int d = 0; d < 2 && i > 0; d++) {
+                int dep = Math.max(0, i - 1 - random.nextInt(Math.min(i, 50)));
+                project.addDependency(tasks[i], tasks[dep]);
+            }
+        }
+
+        for (int r = 0; r < resourceCount; r++) {
+            Resource resource = new Resource("Resource " + (r + 1));
+            project.addResource(resource);
+        }
+        if (resourceCount > 0) {
+            for (int i = 0; i < taskCount; i++) {
+                int teamSize = 1 + random.nextInt(3);
+                for (int m = 0; m < teamSize; m++) {
+                    Resource resource = project.getResources().get(random.nextInt(resourceCount));
+                    resource.addAllocations(tasks[i], 25 * (1 + random.nextInt(4)));
+                }
+            }
+        }
+        return project;
+    }
+}
@@ -0,0 +1,96 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskFileScannerTest {
+
+    @TempDir
+    Path dir;
+
+    private File write(String name, String content) throws Exception {
+        Path file = dir.resolve(name);
+        Files.writeString(file, content);
+        return file.toFile();
+    }
+
+    @Test
+    void testTasksMatchSplitParser() throws Exception {
+        File tasks = write("Tasks.txt", String.join("\n",
+            "# ID, Title, Start, End, Dependencies...",
+            "1, Initial research, 20250915+0800, 20251010+1800,",
+            "  2 ,  Develop content  , 20251013+0800 , 20251031+1159, 1",
+            "3, Planning, 20251013+0800, 20251017+1800, 1, 2",
+            "4, Setup, 20251020+0800, 20251031+1800, 3\t2  1",
+            "5, Bad date, 2025101+0800, 20251031+1800",
+            "x, Bad id, 20251020+0800, 20251031+1800",
+            "6, Bad dep, 20251020+0800, 20251031+1800, 2 y",
+            "7, Too few, 20251020+0800,,",
+            "",
+            "8, Leap, 20240230+0900, 20240301+1000\r",
+            "9, Rollout, 20251103+0900, 20251215+1700, 2 4"));
+
+        Project expected = new Project();
+        Map<Integer, List<Integer>> expectedDeps = FileUtilty.parseTasksFileWithSplit(tasks, expected);
+        Project actual = new Project();
+        Map<Integer, List<Integer>> actualDeps = FileUtilty.parseTasksFile(tasks, actual);
+
+        assertEquals(expectedDeps, actualDeps);
+        assertEquals(new ArrayList<>(expected.tasksById.keySet()), new ArrayList<>(actual.tasksById.keySet()));
+        for (Task e : expected.getTasks()) {
+            Task a = actual.getTaskById(e.id);
+            assertEquals(e.title, a.title);
+            assertEquals(e.startTime, a.startTime);
+            assertEquals(e.endTime, a.endTime);
+        }
+    }
+
+    @Test
+    void testResourcesMatchSplitParser() throws Exception {
+        File resources = write("Resources.txt", String.join("\n",
+            "# ResourceName, TaskId:Percentage, ...",
+            "Ahmed, 1:50, 3:100, 4:100, 5:50",
+            "Ayesha , 2:50,, 6: 75 ",
+            "Mariyam, 1:100, x:5, 2:, 3:40:, 4::9, :7",
+            ",,,"));
+
+        Map<Resource, Map<Integer, Integer>> expected = FileUtilty.parseResourcesFileWithSplit(resources);
+        Map<Resource, Map<Integer, Integer>> actual = FileUtilty.parseResourcesFile(resources);
+
+        List<Resource> e = new ArrayList<>(expected.keySet());
+        List<Resource> a = new ArrayList<>(actual.keySet());
+        assertEquals(e.size(), a.size());
+        for (int i = 0; i < e.size(); i++) {
+            assertEquals(e.get(i).name, a.get(i).name);
+            assertEquals(expected.get(e.get(i)), actual.get(a.get(i)));
+        }
+    }
+
+    @Test
+    void testTitlesAreDecodedAsUtf8() throws Exception {
+        File tasks = write("Tasks.txt", "1, Ünïcode title, 20250915+0800, 20251010+1800");
+        Project project = new Project();
+        FileUtilty.parseTasksFile(tasks, project);
+        assertEquals("Ünïcode title", project.getTaskById(1).title);
+    }
+
+    @Test
+    void testLinesLongerThanTheReadBuffer() throws Exception {
+        String longTitle = "T".repeat(200_000);
+        File tasks = write("Tasks.txt", "1, " + longTitle + ", 20250915+0800, 20251010+1800\n2, Short, 20250915+0800, 20251010+1800, 1");
+
+        Project project = new Project();
+        Map<Integer, List<Integer>> deps = FileUtilty.parseTasksFile(tasks, project);
+        assertEquals(longTitle, project.getTaskById(1).title);
+        assertEquals(List.of(1), deps.get(2));
+    }
+}
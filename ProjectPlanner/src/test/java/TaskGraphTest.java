@@ -0,0 +1,73 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskGraphTest {
+
+    private static Project diamond() {
+        Project project = new Project();
+        Task a = new Task(10, "A", "20250101+0800", "20250102+0800");
+        Task b = new Task(20, "B", "20250102+0800", "20250103+0800");
+        Task c = new Task(5, "C", "20250102+0800", "20250104+0800");
+        Task d = new Task(30, "D", "20250104+0800", "20250105+0800");
+        project.addTask(a);
+        project.addTask(b);
+        project.addTask(c);
+        project.addTask(d);
+        project.addDependency(b, a);
+        project.addDependency(c, a);
+        project.addDependency(d, b);
+        project.addDependency(d, c);
+        return project;
+    }
+
+    @Test
+    void testIndicesAndEdges() {
+        Project project = diamond();
+        TaskGraph graph = project.graph();
+
+        assertEquals(4, graph.size());
+        assertEquals(4, graph.edgeCount());
+        // indices follow insertion order
+        assertEquals(0, graph.indexOf(10));
+        assertEquals(2, graph.indexOf(5));
+        assertEquals(-1, graph.indexOf(99));
+        assertEquals(30, graph.taskId(3));
+
+        int d = graph.indexOf(30);
+        assertEquals(2, graph.predecessorCount(d));
+        assertEquals(graph.indexOf(20), graph.predecessorAt(graph.predecessorStart(d)));
+        assertEquals(graph.indexOf(5), graph.predecessorAt(graph.predecessorStart(d) + 1));
+
+        int a = graph.indexOf(10);
+        assertEquals(0, graph.predecessorCount(a));
+        assertEquals(2, graph.successorCount(a));
+        assertEquals(graph.indexOf(20), graph.successorAt(graph.successorStart(a)));
+        assertEquals(graph.indexOf(5), graph.successorAt(graph.successorStart(a) + 1));
+        assertEquals(BinarySnapshotRepository.epochMinutes(graph.task(a).startTime), graph.startMinute(a));
+    }
+
+    @Test
+    void testRebuildsOnlyAfterChanges() {
+        Project project = diamond();
+        TaskGraph graph = project.graph();
+        assertSame(graph, project.graph());
+
+        project.removeDependency(project.getTaskById(30), project.getTaskById(5));
+        TaskGraph afterEdge = project.graph();
+        assertNotSame(graph, afterEdge);
+        assertEquals(3, afterEdge.edgeCount());
+
+        project.removeTask(10);
+        TaskGraph afterRemove = project.graph();
+        assertEquals(3, afterRemove.size());
+        assertEquals(1, afterRemove.edgeCount());
+        assertEquals(0, afterRemove.indexOf(20));
+
+        // direct map writes are still picked up
+        project.tasksById.put(40, new Task(40, "E", "20250106+0800", "20250107+0800"));
+        assertEquals(4, project.graph().size());
+    }
+}
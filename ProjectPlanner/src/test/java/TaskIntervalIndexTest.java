@@ -0,0 +1,84 @@
+package com.mycompany.projectplanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskIntervalIndexTest {
+
+    private static Set<Integer> scan(Project project, LocalDateTime from, LocalDateTime to) {
+        Set<Integer> ids = new HashSet<>();
+        for (Task t : project.getTasks()) {
+            if (t.startTime.isBefore(to) && t.endTime.isAfter(from) && t.startTime.isBefore(t.endTime)) ids.add(t.id);
+        }
+        return ids;
+    }
+
+    private static Set<Integer> ids(List<Task> tasks) {
+        Set<Integer> ids = new HashSet<>();
+        for (Task t : tasks) assertTrue(ids.add(t.id), "each task is reported once");
+        return ids;
+    }
+
+    @Test
+    void testWindowQueriesFollowEdits() {
+        Project project = SyntheticProjects.create(3000, 0, 9);
+        Random random = new Random(3);
+        LocalDateTime base = SyntheticProjects.BASE;
+        project.intervalIndex();
+
+        for (int round = 0; round < 200; round++) {
+            // mix of removals, replacements, in-place edits and new tasks
+            int id = 1 + random.nextInt(3500);
+            switch (round % 4) {
+                case 0: project.removeTask(id); break;
+                case 1: project.addTask(new Task(id, "New " + id, base.plusHours(random.nextInt(6000)), base.plusHours(6000 + random.nextInt(100)))); break;
+                case 2: {
+                    Task t = project.getTaskById(id);
+                    if (t != null) {
+                        t.startTime = t.startTime.minusDays(3);
+                        project.taskChanged(t);
+                    }
+                    break;
+                }
+                default: {
+                    Task old = project.getTaskById(id);
+                    if (old != null) project.updateTask(new Task(id, old.title, old.startTime, old.endTime.plusHours(50)));
+                }
+            }
+
+            LocalDateTime from = base.plusHours(random.nextInt(6500));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(48));
+            assertEquals(scan(project, from, to), ids(project.tasksActiveBetween(from, to)));
+        }
+    }
+
+    @Test
+    void testStabbingAndBoundaries() {
+        TaskIntervalIndex index = new TaskIntervalIndex();
+        Task a = new Task(1, "A", "20250101+0800", "20250101+1200");
+        Task b = new Task(2, "B", "20250101+1200", "20250101+1400");
+        Task milestone = new Task(3, "M", "20250101+1200", "20250101+1200");
+        index.put(a);
+        index.put(b);
+        index.put(milestone);
+
+        LocalDateTime noon = LocalDateTime.of(2025, 1, 1, 12, 0);
+        assertEquals(List.of(b), index.tasksAt(noon));
+        assertEquals(List.of(a), index.tasksAt(noon.minusMinutes(1)));
+        assertEquals(List.of(a, b), index.tasksInWindow(noon.minusMinutes(1), noon.plusMinutes(1)));
+        assertTrue(index.tasksInWindow(noon, noon).isEmpty());
+
+        assertTrue(index.remove(1));
+        assertFalse(index.remove(1));
+        assertEquals(2, index.size());
+        assertTrue(index.tasksAt(noon.minusMinutes(1)).isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Load throughput for large projects, and the cost of building tasks from typed times versus strings
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskLoadBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private ConnectionPool pool;
+    private DatabaseRepository repository;
+    private int projectId;
+
+    private LocalDateTime[] starts;
+    private LocalDateTime[] ends;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        pool = TestDatabase.createPool();
+        repository = new DatabaseRepository(pool);
+        Project project = SyntheticProjects.create(ROWS, 0, 3);
+        repository.saveProject(project);
+        projectId = project.getProjectId();
+
+        starts = new LocalDateTime[ROWS];
+        ends = new LocalDateTime[ROWS];
+        int i = 0;
+        for (Task t : project.getTasks()) {
+            starts[i] = t.startTime;
+            ends[i] = t.endTime;
+            i++;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public Project loadProject() throws Exception {
+        return repository.loadProject(projectId);
+    }
+
+    @Benchmark
+    public void typedConstructor(Blackhole bh) {
+        for (int i = 0; i < ROWS; i++) {
+            bh.consume(new Task(i, "Task", starts[i], ends[i]));
+        }
+    }
+
+    @Benchmark
+    public void formatAndReparse(Blackhole bh) {
+        // the previous load path: format each time and parse it back in the constructor
+        for (int i = 0; i < ROWS; i++) {
+            bh.consume(new Task(i, "Task", starts[i].format(Task.Formater), ends[i].format(Task.Formater)));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.mycompany.projectplanner;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Embedded H2 database in SQL Server mode, standing in for PP_DB during tests
+public class TestDatabase {
+
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    public static ConnectionPool createPool() throws Exception {
+        ConnectionPool pool = new ConnectionPool(newUrl(), "sa", "");
+        createSchema(pool);
+        return pool;
+    }
+
+    public static String newUrl() {
+        return "jdbc:h2:mem:pp_test_" + counter.incrementAndGet() + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1";
+    }
+
+    public static void createSchema(ConnectionPool pool) throws Exception {
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            for (String sql : readSchema().split(";")) {
+                if (!sql.isBlank()) stmt.execute(sql);
+            }
+        }
+    }
+
+    private static String readSchema() throws Exception {
+        try (InputStream in = TestDatabase.class.getResourceAsStream("/schema.sql")) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return text.replaceAll("(?m)^--.*$", "");
+        }
+    }
+
+    // Small project shaped like the sample Tasks.txt / Resources.txt
+    public static Project sampleProject(String name) {
+        Project project = new Project();
+        project.setName(name);
+        Task t1 = new Task(1, "Research", "20250915+0800", "20251010+1800");
+        Task t2 = new Task(2, "Content", "20251013+0800", "20251031+1159");
+        Task t3 = new Task(3, "Planning", "20251013+0800", "20251017+1800");
+        project.addTask(t1);
+        project.addTask(t2);
+        project.addTask(t3);
+        project.addDependency(t2, t1);
+        project.addDependency(t3, t1);
+
+        Resource ahmed = new Resource("Ahmed");
+        ahmed.addAllocations(t1, 50);
+        ahmed.addAllocations(t3, 100);
+        Resource ayesha = new Resource("Ayesha");
+        ayesha.addAllocations(t2, 50);
+        project.addResource(ahmed);
+        project.addResource(ayesha);
+        return project;
+    }
+}
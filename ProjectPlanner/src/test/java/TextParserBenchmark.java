@@ -0,0 +1,55 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+// Byte level scanner versus the split based parser on generated Tasks.txt / Resources.txt exports
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TextParserBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int taskCount;
+
+    private File tasksFile;
+    private File resourcesFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        File dir = Files.createTempDirectory("parser-bench").toFile();
+        tasksFile = new File(dir, "Tasks.txt");
+        resourcesFile = new File(dir, "Resources.txt");
+        Project project = SyntheticProjects.create(taskCount, taskCount / 100, 11);
+        new FileDataRepository(tasksFile.getPath(), resourcesFile.getPath()).saveProject(project);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tasksFile.delete();
+        resourcesFile.delete();
+        tasksFile.getParentFile().delete();
+    }
+
+    @Benchmark
+    public Project scanner() throws Exception {
+        Project project = new Project();
+        FileUtilty.parseTasksFile(tasksFile, project);
+        FileUtilty.parseResourcesFile(resourcesFile);
+        return project;
+    }
+
+    @Benchmark
+    public Project splitParser() throws Exception {
+        Project project = new Project();
+        FileUtilty.parseTasksFileWithSplit(tasksFile, project);
+        FileUtilty.parseResourcesFileWithSplit(resourcesFile);
+        return project;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mycompany.projectplanner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Saving Tasks.txt and Resources.txt: the atomic channel writer versus the old in-place PrintWriter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TextSaveBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int taskCount;
+
+    private Path dir;
+    private FileDataRepository repository;
+    private Project project;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("text-save-bench");
+        repository = new FileDataRepository(dir.resolve("Tasks.txt").toString(), dir.resolve("Resources.txt").toString());
+        project = SyntheticProjects.create(taskCount, taskCount / 100, 61);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+        System.out.printf("%n%d tasks: Tasks.txt %.1f MB%n", taskCount, Files.size(dir.resolve("Tasks.txt")) / 1e6);
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void atomicSave() throws Exception {
+        repository.saveProject(project);
+    }
+
+    // the previous save path, kept here as the baseline; no fsync, no rename
+    @Benchmark
+    public void printWriterSave() throws IOException {
+        try (PrintWriter pw = new PrintWriter(new File(dir.toFile(), "Tasks.txt"))) {
+            pw.println("# ID, Title, Start, End, Dependencies...");
+            for (Task t : project.getTasks()) {
+                StringBuilder sb = new StringBuilder();
+                sb.append(t.id).append(", ")
+                  .append(t.title).append(", ")
+                  .append(t.startTime.format(Task.Formater)).append(", ")
+                  .append(t.endTime.format(Task.Formater));
+                if (!t.dependencies.isEmpty()) {
+                    sb.append(", ");
+                    for (int i = 0; i < t.dependencies.size(); i++) {
+                        sb.append(t.dependencies.get(i).id);
+                        if (i < t.dependencies.size() - 1) sb.append(" ");
+                    }
+                }
+                pw.println(sb);
+            }
+        }
+        try (PrintWriter pw = new PrintWriter(new File(dir.toFile(), "Resources.txt"))) {
+            pw.println("# ResourceName, TaskId:Percentage, ...");
+            for (Resource r : project.getResources()) {
+                StringBuilder sb = new StringBuilder();
+                sb.append(r.getName());
+                for (Map.Entry<Task, Integer> e : r.getAllocations().entrySet()) {
+                    sb.append(", ").append(e.getKey().id).append(":").append(e.getValue());
+                }
+                pw.println(sb);
+            }
+        }
+    }
+}
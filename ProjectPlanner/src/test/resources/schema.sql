@@ -0,0 +1,36 @@
+-- Mirror of the PP_DB tables used by DatabaseRepository, for the embedded test database
+CREATE TABLE Projects (
+    ProjectId INT IDENTITY(1,1) PRIMARY KEY,
+    ProjectName NVARCHAR(200) NOT NULL,
+    CreatedDate DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE Tasks (
+    TaskId INT NOT NULL PRIMARY KEY,
+    ProjectId INT NOT NULL REFERENCES Projects(ProjectId) ON DELETE CASCADE,
+    Title NVARCHAR(500) NOT NULL,
+    StartTime DATETIME2 NOT NULL,
+    EndTime DATETIME2 NOT NULL
+);
+
+CREATE TABLE TaskDependencies (
+    TaskId INT NOT NULL REFERENCES Tasks(TaskId) ON DELETE CASCADE,
+    DependsOnTaskId INT NOT NULL REFERENCES Tasks(TaskId),
+    PRIMARY KEY (TaskId, DependsOnTaskId)
+);
+
+CREATE TABLE Resources (
+    ResourceId INT IDENTITY(1,1) PRIMARY KEY,
+    ProjectId INT NOT NULL REFERENCES Projects(ProjectId) ON DELETE CASCADE,
+    ResourceName NVARCHAR(200) NOT NULL
+);
+
+CREATE TABLE ResourceAllocations (
+    ResourceId INT NOT NULL REFERENCES Resources(ResourceId) ON DELETE CASCADE,
+    TaskId INT NOT NULL REFERENCES Tasks(TaskId) ON DELETE CASCADE,
+    AllocationPercentage INT NOT NULL,
+    PRIMARY KEY (ResourceId, TaskId)
+);
+
+-- keyset pages of one project's tasks (ProjectId = ? AND TaskId > ? ORDER BY TaskId) are one index range
+CREATE INDEX IX_Tasks_ProjectId_TaskId ON Tasks (ProjectId, TaskId);